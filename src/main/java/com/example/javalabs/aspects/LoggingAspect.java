@@ -1,31 +1,169 @@
 package com.example.javalabs.aspects;
 
+import com.example.javalabs.models.FreelancerPage;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+/**
+ * Times every {@code FreelancersController} call and logs its duration and, for handlers that
+ * return one, the size of their result: at INFO for calls slower than {@code slowCall}, at DEBUG
+ * otherwise. Failures are logged at ERROR. Arguments and results are only rendered for a sampled
+ * share of calls, failed ones included, each cut at {@code maxPayloadChars} and collections
+ * after as many elements as fit, so large responses are never turned into strings whole.
+ * Nothing is computed for a level that is disabled.
+ */
 @Aspect
 @Component
+@EnableConfigurationProperties(LoggingAspectProperties.class)
 public class LoggingAspect {
     private static final Logger LOGGER = LoggerFactory.getLogger(LoggingAspect.class);
 
-    @AfterReturning(pointcut = "execution(* com.example.javalabs.controllers.FreelancersController.*(..))",
-                    returning = "result")
-    public void logSuccessfulExecution(JoinPoint joinPoint, Object result) {
+    private final LoggingAspectProperties properties;
+
+    public LoggingAspect(LoggingAspectProperties properties) {
+        this.properties = properties;
+    }
+
+    @Around("execution(* com.example.javalabs.controllers.FreelancersController.*(..))")
+    public Object logExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            logException(joinPoint, ex, System.nanoTime() - start);
+            throw ex;
+        }
+        logSuccessfulExecution(joinPoint, result, System.nanoTime() - start);
+        return result;
+    }
+
+    private void logSuccessfulExecution(JoinPoint joinPoint, Object result, long nanos) {
+        boolean slow = nanos >= properties.slowCall().toNanos();
+        if (!(slow ? LOGGER.isInfoEnabled() : LOGGER.isDebugEnabled())) {
+            return;
+        }
         String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        LOGGER.info("Method {} executed successfully with args: {}, result: {}", methodName, args, result);
+        // Handlers writing the response themselves return nothing to measure.
+        String size = returnsNothing(joinPoint) ? "" : ", result size " + resultSize(result);
+        if (slow) {
+            LOGGER.info("Method {} completed in {} us{}", methodName, nanos / 1_000, size);
+        } else {
+            LOGGER.debug("Method {} completed in {} us{}", methodName, nanos / 1_000, size);
+        }
+        if (LOGGER.isDebugEnabled() && sampled(methodName)) {
+            LOGGER.debug("Method {} called with args: {}, result: {}", methodName,
+                         describeArgs(joinPoint.getArgs()), describe(result));
+        }
     }
 
-    @AfterThrowing(pointcut = "execution(* com.example.javalabs.controllers.FreelancersController.*(..))",
-                   throwing = "ex")
-    public void logException(JoinPoint joinPoint, Throwable ex) {
+    private void logException(JoinPoint joinPoint, Throwable ex, long nanos) {
+        if (!LOGGER.isErrorEnabled()) {
+            return;
+        }
         String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        LOGGER.error("Method {} failed with args: {}, exception: {}", methodName, args, ex.getMessage(), ex);
+        if (sampled(methodName)) {
+            LOGGER.error("Method {} failed after {} us with args: {}, exception: {}", methodName, nanos / 1_000,
+                         describeArgs(joinPoint.getArgs()), ex.getMessage(), ex);
+        } else {
+            LOGGER.error("Method {} failed after {} us, exception: {}", methodName, nanos / 1_000, ex.getMessage(),
+                         ex);
+        }
+    }
+
+    private static boolean returnsNothing(JoinPoint joinPoint) {
+        return joinPoint.getSignature() instanceof MethodSignature method && method.getReturnType() == void.class;
+    }
+
+    /**
+     * The number of items a result carries: the elements of a collection, map, array or page,
+     * nothing for {@code null} or {@code void}, and one for anything else. A
+     * {@link ResponseEntity} counts its body.
+     */
+    static long resultSize(Object result) {
+        Object body = result instanceof ResponseEntity<?> entity ? entity.getBody() : result;
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (body instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (body instanceof Object[] array) {
+            return array.length;
+        }
+        if (body instanceof FreelancerPage page) {
+            return page.items().size();
+        }
+        return 1;
+    }
+
+    private boolean sampled(String methodName) {
+        double rate = properties.sampleRate(methodName);
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private String describeArgs(Object[] args) {
+        StringBuilder description = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(describe(args[i]));
+        }
+        return description.append(']').toString();
+    }
+
+    // Renders elements one at a time until the cap is reached, so only the logged prefix of a
+    // large collection is converted.
+    String describe(Object value) {
+        int max = properties.maxPayloadChars();
+        if (value instanceof ServletRequest || value instanceof ServletResponse) {
+            return value.getClass().getSimpleName();
+        }
+        if (value instanceof ResponseEntity<?> entity) {
+            return entity.getStatusCode() + " " + describe(entity.getBody());
+        }
+        if (value instanceof Collection<?> collection) {
+            StringBuilder description = new StringBuilder("[");
+            Iterator<?> elements = collection.iterator();
+            int shown = 0;
+            while (elements.hasNext() && description.length() < max) {
+                if (shown > 0) {
+                    description.append(", ");
+                }
+                description.append(elements.next());
+                shown++;
+            }
+            if (description.length() > max) {
+                description.setLength(max);
+                description.append("...");
+            }
+            if (shown < collection.size()) {
+                description.append(", ").append(collection.size() - shown).append(" more");
+            }
+            return description.append(']').toString();
+        }
+        return truncate(String.valueOf(value), max);
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max) + "...(" + value.length() + " chars)";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.example.javalabs.aspects;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of {@link LoggingAspect}, bound from {@code aspect.logging.*}.
+ *
+ * @param sampleRate      share of calls, 0 to 1, whose arguments and result are logged at DEBUG,
+ *                        and whose arguments are logged with a failure
+ * @param sampleRates     per controller method overrides of {@code sampleRate}, e.g.
+ *                        {@code aspect.logging.sample-rates.bulkUpsertFreelancers=0}
+ * @param maxPayloadChars cap on the logged length of each argument and of the result
+ * @param slowCall        calls taking at least this long are logged at INFO, others at DEBUG
+ */
+@ConfigurationProperties("aspect.logging")
+public record LoggingAspectProperties(Double sampleRate, Map<String, Double> sampleRates, Integer maxPayloadChars,
+                                      Duration slowCall) {
+
+    public LoggingAspectProperties {
+        sampleRate = sampleRate == null ? 0.0 : sampleRate;
+        sampleRates = sampleRates == null ? Map.of() : Map.copyOf(sampleRates);
+        maxPayloadChars = maxPayloadChars == null ? 500 : maxPayloadChars;
+        slowCall = slowCall == null ? Duration.ofSeconds(1) : slowCall;
+    }
+
+    public double sampleRate(String method) {
+        return sampleRates.getOrDefault(method, sampleRate);
+    }
+}
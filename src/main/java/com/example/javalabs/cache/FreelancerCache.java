@@ -1,9 +1,22 @@
 package com.example.javalabs.cache;
 
-import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerSearch;
+import com.example.javalabs.models.FreelancerSnapshot;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -14,52 +27,308 @@ public class FreelancerCache {
     private static final int MAX_CACHE_SIZE = 100;
     private static final int MAX_FREELANCERS_PER_LIST = 1000;
 
-    private final Map<String, List<Freelancer>> cache;
+    private final Map<String, CacheEntry> cache = new LinkedHashMap<>(MAX_CACHE_SIZE, 0.75f, false);
 
-    public FreelancerCache() {
-        this.cache = new LinkedHashMap<String, List<Freelancer>>(MAX_CACHE_SIZE, 0.75f, false) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<String, List<Freelancer>> eldest) {
-                if (size() > MAX_CACHE_SIZE) {
-                    CACHE_LOGGER.info("Cache size limit ({}) reached, removing oldest entry: {}",
-                                      MAX_CACHE_SIZE, eldest.getKey());
-                    return true;
-                }
+    // Reverse indexes: which cached query keys may be affected by a change to a freelancer,
+    // a category or a skill. A query without a category or without skills is a wildcard and
+    // is indexed under WILDCARD. Rating and rate ranges are not indexed, so a change evicts
+    // every query on its category and skills regardless of ranges.
+    private final Map<Long, Set<String>> keysByFreelancerId = new HashMap<>();
+    private final Map<String, Set<String>> keysByCategory = new HashMap<>();
+    private final Map<String, Set<String>> keysBySkill = new HashMap<>();
+
+    private final List<Consumer<String>> removalListeners = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder clears = new LongAdder();
+
+    private static final String WILDCARD = "\u0000*";
+
+    private record CacheEntry(FreelancerSearch search, List<FreelancerSnapshot> freelancers, Set<Long> ids) {
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, long invalidations, long clears, int size) {
+        @JsonProperty("hitRatio")
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    static String generateKey(String category, String skillName) {
+        return FreelancerSearch.listing(category, skillName).cacheKey();
+    }
+
+    public List<FreelancerSnapshot> getFreelancers(String category, String skillName) {
+        return getFreelancers(FreelancerSearch.listing(category, skillName));
+    }
+
+    public List<FreelancerSnapshot> getFreelancers(FreelancerSearch search) {
+        String key = search.cacheKey();
+        CacheEntry entry;
+        lock.readLock().lock();
+        try {
+            entry = cache.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.freelancers();
+    }
+
+    public void putFreelancers(String category, String skillName, List<FreelancerSnapshot> freelancers) {
+        putFreelancers(FreelancerSearch.listing(category, skillName), freelancers, generation());
+    }
+
+    public boolean putFreelancers(String category, String skillName, List<FreelancerSnapshot> freelancers,
+                                  long expectedGeneration) {
+        return putFreelancers(FreelancerSearch.listing(category, skillName), freelancers, expectedGeneration);
+    }
+
+    /**
+     * Stores a query result unless an invalidation happened after {@code expectedGeneration}
+     * was read, so a reader that loaded data before a concurrent write cannot cache stale rows.
+     */
+    public boolean putFreelancers(FreelancerSearch search, List<FreelancerSnapshot> freelancers,
+                                  long expectedGeneration) {
+        if (freelancers.size() > MAX_FREELANCERS_PER_LIST) {
+            // Caching a truncated list would silently drop rows; large results are paged instead.
+            CACHE_LOGGER.debug("List size {} exceeds limit ({}), not caching",
+                              freelancers.size(), MAX_FREELANCERS_PER_LIST);
+            return false;
+        }
+        List<FreelancerSnapshot> cached = List.copyOf(freelancers);
+        Set<Long> ids = new HashSet<>();
+        for (FreelancerSnapshot freelancer : cached) {
+            if (freelancer.id() != null) {
+                ids.add(freelancer.id());
+            }
+        }
+        String key = search.cacheKey();
+        CacheEntry entry = new CacheEntry(search, cached, ids);
+
+        lock.writeLock().lock();
+        try {
+            if (generation.get() != expectedGeneration) {
+                CACHE_LOGGER.debug("Skipping stale cache fill for key: {}", key);
                 return false;
             }
-        };
+            removeEntry(key);
+            cache.put(key, entry);
+            index(key, entry);
+            evictOverflow();
+            CACHE_LOGGER.debug("Added to cache: size={}", cache.size());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long generation() {
+        return generation.get();
     }
 
-    private String generateKey(String category, String skillName) {
-        return (category != null ? category : "null") + "_" + (skillName != null ? skillName : "null");
+    /**
+     * Returns true if {@code freelancers} is the very list currently cached for the query.
+     */
+    public boolean isCached(String category, String skillName, List<FreelancerSnapshot> freelancers) {
+        return isCached(FreelancerSearch.listing(category, skillName), freelancers);
     }
 
-    public List<Freelancer> getFreelancers(String category, String skillName) {
-        String key = generateKey(category, skillName);
-        List<Freelancer> result = cache.get(key);
-        if (result != null) {
-            CACHE_LOGGER.info("Cache hit for hash: {}", cache.get(key).hashCode());
+    public boolean isCached(FreelancerSearch search, List<FreelancerSnapshot> freelancers) {
+        lock.readLock().lock();
+        try {
+            CacheEntry entry = cache.get(search.cacheKey());
+            return entry != null && entry.freelancers() == freelancers;
+        } finally {
+            lock.readLock().unlock();
         }
-        return result;
     }
 
-    public void putFreelancers(String category, String skillName, List<Freelancer> freelancers) {
-        if (freelancers.size() > MAX_FREELANCERS_PER_LIST) {
-            CACHE_LOGGER.warn("List size exceeds limit ({}), truncating to {} elements",
-                              MAX_FREELANCERS_PER_LIST, MAX_FREELANCERS_PER_LIST);
-            freelancers = freelancers.subList(0, MAX_FREELANCERS_PER_LIST);
+    /**
+     * Registers a callback invoked with the key of every entry that leaves the cache.
+     * Listeners run under the cache lock and must not call back into the cache.
+     */
+    public void addRemovalListener(Consumer<String> listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * Evicts every cached query whose result contains the given freelancer.
+     */
+    public void evictFreelancer(Long freelancerId) {
+        if (freelancerId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            Set<String> keys = keysByFreelancerId.get(freelancerId);
+            if (keys != null) {
+                invalidate(Set.copyOf(keys));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evicts every cached query that a freelancer with the given category and skills could match,
+     * i.e. queries whose result may gain that freelancer.
+     */
+    public void evictMatching(String category, Collection<String> skillNames) {
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            Set<String> affected = new HashSet<>(keysByCategory.getOrDefault(WILDCARD, Set.of()));
+            if (category != null) {
+                affected.addAll(keysByCategory.getOrDefault(category, Set.of()));
+            }
+            Set<String> bySkill = new HashSet<>(keysBySkill.getOrDefault(WILDCARD, Set.of()));
+            if (skillNames != null) {
+                for (String skillName : skillNames) {
+                    bySkill.addAll(keysBySkill.getOrDefault(skillName, Set.of()));
+                }
+            }
+            affected.retainAll(bySkill);
+            invalidate(affected);
+        } finally {
+            lock.writeLock().unlock();
         }
-        String key = generateKey(category, skillName);
-        cache.put(key, freelancers);
-        CACHE_LOGGER.info("Added to cache: size={}", cache.size());
+    }
+
+    /**
+     * Evicts everything a change to the given freelancer can affect: queries that currently
+     * contain it and queries it may now match with the given category and skills.
+     */
+    public void evictForFreelancer(Long freelancerId, String category, Collection<String> skillNames) {
+        evictFreelancer(freelancerId);
+        evictMatching(category, skillNames);
     }
 
     public void clear() {
-        CACHE_LOGGER.info("Clearing cache, previous size: {}", cache.size());
-        cache.clear();
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            CACHE_LOGGER.info("Clearing cache, previous size: {}", cache.size());
+            invalidations.add(cache.size());
+            clears.increment();
+            cache.keySet().forEach(this::notifyRemoval);
+            cache.clear();
+            keysByFreelancerId.clear();
+            keysByCategory.clear();
+            keysBySkill.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public boolean containsKey(String category, String skillName) {
-        return cache.containsKey(generateKey(category, skillName));
+        lock.readLock().lock();
+        try {
+            return cache.containsKey(generateKey(category, skillName));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public CacheStats getStats() {
+        int size;
+        lock.readLock().lock();
+        try {
+            size = cache.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), clears.sum(), size);
+    }
+
+    private void invalidate(Set<String> keys) {
+        for (String key : keys) {
+            if (removeEntry(key)) {
+                invalidations.increment();
+            }
+        }
+        if (!keys.isEmpty()) {
+            CACHE_LOGGER.debug("Invalidated {} cache entries", keys.size());
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CacheEntry>> iterator = cache.entrySet().iterator();
+        while (cache.size() > MAX_CACHE_SIZE && iterator.hasNext()) {
+            Map.Entry<String, CacheEntry> eldest = iterator.next();
+            iterator.remove();
+            unindex(eldest.getKey(), eldest.getValue());
+            notifyRemoval(eldest.getKey());
+            evictions.increment();
+            CACHE_LOGGER.debug("Cache size limit ({}) reached, removed oldest entry: {}",
+                              MAX_CACHE_SIZE, eldest.getKey());
+        }
+    }
+
+    private boolean removeEntry(String key) {
+        CacheEntry previous = cache.remove(key);
+        if (previous == null) {
+            return false;
+        }
+        unindex(key, previous);
+        notifyRemoval(key);
+        return true;
+    }
+
+    private void notifyRemoval(String key) {
+        for (Consumer<String> listener : removalListeners) {
+            listener.accept(key);
+        }
+    }
+
+    private void index(String key, CacheEntry entry) {
+        for (Long id : entry.ids()) {
+            keysByFreelancerId.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+        }
+        keysByCategory.computeIfAbsent(indexKey(entry.search().category()), k -> new HashSet<>()).add(key);
+        for (String skill : skillIndexKeys(entry.search())) {
+            keysBySkill.computeIfAbsent(skill, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(String key, CacheEntry entry) {
+        for (Long id : entry.ids()) {
+            removeFromIndex(keysByFreelancerId, id, key);
+        }
+        removeFromIndex(keysByCategory, indexKey(entry.search().category()), key);
+        for (String skill : skillIndexKeys(entry.search())) {
+            removeFromIndex(keysBySkill, skill, key);
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<String>> index, K indexKey, String key) {
+        Set<String> keys = index.get(indexKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(indexKey);
+            }
+        }
+    }
+
+    private static String indexKey(String value) {
+        return value != null ? value : WILDCARD;
+    }
+
+    // A freelancer can only enter an ALL or ANY result if it has at least one of the skills,
+    // so indexing under each skill finds every query it may affect.
+    private static List<String> skillIndexKeys(FreelancerSearch search) {
+        return search.skills().isEmpty() ? List.of(WILDCARD) : search.skills();
     }
-}
\ No newline at end of file
+}
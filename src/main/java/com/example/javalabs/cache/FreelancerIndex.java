@@ -0,0 +1,289 @@
+package com.example.javalabs.cache;
+
+import com.example.javalabs.repositories.FreelancerJdbcRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory inverted index from category and skill name to the sorted IDs of matching
+ * freelancers. Loaded once at startup when {@code freelancers.index.enabled} is set and kept
+ * current by the service write paths after each commit; until it is ready, callers fall back
+ * to the database.
+ */
+@Component
+public class FreelancerIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreelancerIndex.class);
+    private static final long[] NO_IDS = new long[0];
+
+    private final FreelancerJdbcRepository freelancerJdbcRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Document> documents = new HashMap<>();
+    private Map<String, IdSet> idsByCategory = new HashMap<>();
+    private Map<String, IdSet> idsBySkill = new HashMap<>();
+    private IdSet allIds = new IdSet();
+
+    // Changes applied while load() reads the tables; replayed on top of the loaded state.
+    private List<Runnable> pending;
+    private volatile boolean ready;
+
+    public record Document(long id, String category, Set<String> skills) {
+        public Document {
+            skills = skills == null ? Set.of() : Set.copyOf(skills);
+        }
+    }
+
+    public FreelancerIndex(FreelancerJdbcRepository freelancerJdbcRepository,
+                           @Value("${freelancers.index.enabled:false}") boolean enabled) {
+        this.freelancerJdbcRepository = freelancerJdbcRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, String> categories = new HashMap<>();
+        Map<Long, Set<String>> skills = new HashMap<>();
+        try {
+            freelancerJdbcRepository.forEachCategory(categories::put);
+            freelancerJdbcRepository.forEachSkillName(
+                    (id, name) -> skills.computeIfAbsent(id, k -> new HashSet<>()).add(name));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Freelancer index could not be loaded, queries use the database", e);
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        // Adding in ascending ID order keeps every insert an append.
+        long[] ids = categories.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+        lock.writeLock().lock();
+        try {
+            documents = new HashMap<>(ids.length * 2);
+            idsByCategory = new HashMap<>();
+            idsBySkill = new HashMap<>();
+            allIds = new IdSet();
+            for (long id : ids) {
+                addDocument(new Document(id, categories.get(id), skills.get(id)));
+            }
+            pending.forEach(Runnable::run);
+            pending = null;
+            ready = true;
+            LOGGER.info("Freelancer index loaded with {} freelancers, {} categories and {} skills in {} ms",
+                        documents.size(), idsByCategory.size(), idsBySkill.size(),
+                        (System.nanoTime() - startTime) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the ascending IDs of freelancers in {@code category} that have {@code skillName};
+     * a null argument does not filter.
+     */
+    public long[] find(String category, String skillName) {
+        lock.readLock().lock();
+        try {
+            IdSet byCategory = category == null ? allIds : idsByCategory.get(category);
+            IdSet bySkill = skillName == null ? allIds : idsBySkill.get(skillName);
+            if (byCategory == null || bySkill == null) {
+                return NO_IDS;
+            }
+            return IdSet.intersect(byCategory, bySkill);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces everything indexed for the document's freelancer.
+     */
+    public void put(Document document) {
+        mutate(() -> {
+            removeDocument(document.id());
+            addDocument(document);
+        });
+    }
+
+    /**
+     * Replaces the category of each freelancer and adds the given skills to the ones already
+     * indexed, mirroring a bulk upsert that only ever inserts skill links.
+     */
+    public void merge(Collection<Document> changes) {
+        List<Document> copy = List.copyOf(changes);
+        mutate(() -> {
+            for (Document document : copy) {
+                Document previous = removeDocument(document.id());
+                Set<String> skills = new HashSet<>(document.skills());
+                if (previous != null) {
+                    skills.addAll(previous.skills());
+                }
+                addDocument(new Document(document.id(), document.category(), skills));
+            }
+        });
+    }
+
+    public void remove(long id) {
+        mutate(() -> removeDocument(id));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mutate(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(Document document) {
+        documents.put(document.id(), document);
+        allIds.add(document.id());
+        if (document.category() != null) {
+            idsByCategory.computeIfAbsent(document.category(), k -> new IdSet()).add(document.id());
+        }
+        for (String skill : document.skills()) {
+            idsBySkill.computeIfAbsent(skill, k -> new IdSet()).add(document.id());
+        }
+    }
+
+    private Document removeDocument(long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return null;
+        }
+        allIds.remove(id);
+        if (previous.category() != null) {
+            removeFromIndex(idsByCategory, previous.category(), id);
+        }
+        for (String skill : previous.skills()) {
+            removeFromIndex(idsBySkill, skill, id);
+        }
+        return previous;
+    }
+
+    private static void removeFromIndex(Map<String, IdSet> index, String key, long id) {
+        IdSet ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.size == 0) {
+            index.remove(key);
+        }
+    }
+
+    // Sorted, duplicate-free primitive IDs; an insert or removal shifts the tail in place.
+    private static final class IdSet {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        static long[] intersect(IdSet a, IdSet b) {
+            if (a == b) {
+                return Arrays.copyOf(a.ids, a.size);
+            }
+            IdSet small = a.size <= b.size ? a : b;
+            IdSet large = small == a ? b : a;
+            long[] result = new long[small.size];
+            int count = 0;
+            if ((long) small.size * 16 < large.size) {
+                // Very uneven sizes: binary-search each small ID in the shrinking tail of large.
+                int from = 0;
+                for (int i = 0; i < small.size && from < large.size; i++) {
+                    int index = Arrays.binarySearch(large.ids, from, large.size, small.ids[i]);
+                    if (index >= 0) {
+                        result[count++] = small.ids[i];
+                        from = index + 1;
+                    } else {
+                        from = -index - 1;
+                    }
+                }
+            } else {
+                int i = 0;
+                int j = 0;
+                while (i < small.size && j < large.size) {
+                    long x = small.ids[i];
+                    long y = large.ids[j];
+                    if (x == y) {
+                        result[count++] = x;
+                        i++;
+                        j++;
+                    } else if (x < y) {
+                        i++;
+                    } else {
+                        j++;
+                    }
+                }
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+    }
+}
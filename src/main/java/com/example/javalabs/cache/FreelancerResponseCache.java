@@ -0,0 +1,79 @@
+package com.example.javalabs.cache;
+
+import com.example.javalabs.models.FreelancerSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+@Component
+public class FreelancerResponseCache {
+    private final ObjectMapper objectMapper;
+    private final FreelancerCache freelancerCache;
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    public record EncodedResponse(byte[] body, String etag) {
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // The encoded bytes remember the exact snapshot list they were produced from, so they are
+    // only ever served for that list and die together with its FreelancerCache entry.
+    private record CachedResponse(List<FreelancerSnapshot> source, EncodedResponse response) {
+    }
+
+    public FreelancerResponseCache(ObjectMapper objectMapper, FreelancerCache freelancerCache) {
+        this.objectMapper = objectMapper;
+        this.freelancerCache = freelancerCache;
+        freelancerCache.addRemovalListener(responses::remove);
+    }
+
+    public EncodedResponse encode(String category, String skillName, List<FreelancerSnapshot> freelancers) {
+        String key = FreelancerCache.generateKey(category, skillName);
+        CachedResponse cached = responses.get(key);
+        if (cached != null && cached.source() == freelancers) {
+            return cached.response();
+        }
+
+        EncodedResponse response = serialize(freelancers);
+        if (freelancerCache.isCached(category, skillName, freelancers)) {
+            CachedResponse entry = new CachedResponse(freelancers, response);
+            responses.put(key, entry);
+            // The source entry may have been evicted between the check and the put.
+            if (!freelancerCache.isCached(category, skillName, freelancers)) {
+                responses.remove(key, entry);
+            }
+        }
+        return response;
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    private EncodedResponse serialize(List<FreelancerSnapshot> freelancers) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(freelancers);
+            return new EncodedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.javalabs.cache;
+
+import com.example.javalabs.repositories.SkillJdbcRepository;
+import com.example.javalabs.services.TransactionCallbacks;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataAccessException;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SkillDictionary {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SkillDictionary.class);
+
+    private final SkillJdbcRepository skillJdbcRepository;
+    private final ConcurrentHashMap<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    public SkillDictionary(SkillJdbcRepository skillJdbcRepository) {
+        this.skillJdbcRepository = skillJdbcRepository;
+    }
+
+    // A failed warm-up leaves the dictionary to fill lazily: unknown names are looked up by
+    // resolveAll.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            idsByName.putAll(skillJdbcRepository.findAllIds());
+            LOGGER.info("Skill dictionary warmed up with {} skills", idsByName.size());
+        } catch (DataAccessException e) {
+            LOGGER.warn("Could not warm up the skill dictionary, loading skills on demand", e);
+        }
+    }
+
+    public Long resolve(String name) {
+        return resolveAll(Set.of(name)).get(name);
+    }
+
+    /**
+     * Returns the ID of every given skill name, creating the missing skills with a single
+     * insert-or-get statement. Must run inside the caller's transaction; new names only enter
+     * the dictionary once that transaction commits.
+     */
+    public Map<String, Long> resolveAll(Collection<String> names) {
+        Map<String, Long> resolved = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                resolved.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Long> created = skillJdbcRepository.insertOrGet(missing);
+            resolved.putAll(created);
+            TransactionCallbacks.afterCommit(() -> idsByName.putAll(created));
+        }
+        return resolved;
+    }
+
+    public int size() {
+        return idsByName.size();
+    }
+}
@@ -1,9 +1,86 @@
 package com.example.javalabs.config;
 
+import com.example.javalabs.services.LogService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
-}
\ No newline at end of file
+
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(8);
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+
+    // Exports are I/O bound, so a small fixed pool with a short queue; a full queue is rejected
+    // (HTTP 429) instead of piling up work. With virtual threads the pool size still bounds the
+    // number of exports reading files at once.
+    @Bean(name = "logExportExecutor")
+    public ThreadPoolTaskExecutor logExportExecutor(@Value("${logs.export.pool-size:2}") int poolSize,
+                                                    @Value("${logs.export.queue-capacity:16}") int queueCapacity,
+                                                    @Value("${logs.export.virtual-threads:false}") boolean virtual) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("log-export-");
+        executor.setVirtualThreads(virtual);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Exports read the days of a range and the chunks of a file in parallel here. The reads block
+    // and archives are decompressed, so they get their own bounded pool rather than the common
+    // pool. There is no queue: when every thread is busy the submitting thread does the work
+    // itself, which also keeps a day read here from waiting on its own chunks.
+    @Bean(name = "logScanExecutor")
+    public ThreadPoolTaskExecutor logScanExecutor(@Value("${logs.export.scan-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("log-scan-");
+        executor.setRejectedExecutionHandler((task, pool) -> task.run());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder logExportMetrics(@Qualifier("logExportExecutor") ThreadPoolTaskExecutor executor,
+                                        LogService logService) {
+        return registry -> {
+            Gauge.builder("logs.export.queued", executor,
+                          e -> e.getThreadPoolExecutor().getQueue().size())
+                    .description("Log exports waiting for a thread")
+                    .register(registry);
+            Gauge.builder("logs.export.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                    .description("Log exports currently running")
+                    .register(registry);
+            FunctionCounter.builder("logs.export.rejected", logService, LogService::getRejectedExports)
+                    .description("Log exports rejected because the queue was full")
+                    .register(registry);
+            Gauge.builder("logs.export.tasks", logService, LogService::getTaskCount)
+                    .description("Log export tasks held in memory")
+                    .register(registry);
+            Gauge.builder("logs.export.disk", logService, LogService::getExportBytes)
+                    .description("Bytes of exported log files on disk")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.javalabs.config;
+
+import com.example.javalabs.cache.FreelancerCache;
+import com.example.javalabs.services.VisitCounterService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    // Times the methods of classes annotated with @Timed, such as FreelancerServiceImpl.
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Cache accesses are counted here instead of being logged one line each.
+    @Bean
+    public MeterBinder freelancerCacheMetrics(FreelancerCache freelancerCache) {
+        return registry -> {
+            FunctionCounter.builder("freelancers.cache.hits", freelancerCache, c -> c.getStats().hits())
+                    .description("Freelancer queries answered from the cache")
+                    .register(registry);
+            FunctionCounter.builder("freelancers.cache.misses", freelancerCache, c -> c.getStats().misses())
+                    .description("Freelancer queries not found in the cache")
+                    .register(registry);
+            FunctionCounter.builder("freelancers.cache.evictions", freelancerCache,
+                                    c -> c.getStats().evictions())
+                    .description("Cached queries removed because the cache was full")
+                    .register(registry);
+            FunctionCounter.builder("freelancers.cache.invalidations", freelancerCache,
+                                    c -> c.getStats().invalidations())
+                    .description("Cached queries removed because freelancers changed")
+                    .register(registry);
+            FunctionCounter.builder("freelancers.cache.clears", freelancerCache, c -> c.getStats().clears())
+                    .description("Times the whole cache was cleared")
+                    .register(registry);
+            Gauge.builder("freelancers.cache.size", freelancerCache, c -> c.getStats().size())
+                    .description("Cached freelancer queries")
+                    .register(registry);
+            Gauge.builder("freelancers.cache.hit.ratio", freelancerCache, c -> c.getStats().hitRatio())
+                    .description("Share of freelancer queries answered from the cache since startup")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder visitCounterMetrics(VisitCounterService visitCounterService) {
+        return registry -> {
+            FunctionTimer.builder("visits.flush", visitCounterService, VisitCounterService::getFlushCount,
+                                  VisitCounterService::getFlushMillis, TimeUnit.MILLISECONDS)
+                    .description("Successful writes of visit counters to the database")
+                    .register(registry);
+            FunctionCounter.builder("visits.flush.failures", visitCounterService,
+                                    VisitCounterService::getFlushFailures)
+                    .description("Visit counter writes that failed and were retried with the next one")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.javalabs.config;
+
+import com.example.javalabs.repositories.SkillJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Merges duplicate skill names and adds {@code uk_skills_name} on databases created before the
+ * constraint existed. Runs after Hibernate updated the schema and before the server accepts
+ * requests; it is idempotent, so it runs on every startup.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SkillSchemaMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SkillSchemaMigration.class);
+
+    private final SkillJdbcRepository skillJdbcRepository;
+    private final TransactionTemplate transaction;
+
+    public SkillSchemaMigration(SkillJdbcRepository skillJdbcRepository, PlatformTransactionManager transactionManager) {
+        this.skillJdbcRepository = skillJdbcRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        try {
+            Integer removed = transaction.execute(status -> skillJdbcRepository.mergeDuplicateNames());
+            if (removed != null && removed > 0) {
+                LOGGER.info("Merged {} duplicate skills", removed);
+            }
+        } catch (DataAccessException e) {
+            LOGGER.error("Could not merge duplicate skills; adding skills fails until skills.name is unique", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.javalabs.controllers;
+
+import com.example.javalabs.cache.FreelancerCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final FreelancerCache freelancerCache;
+
+    public CacheController(FreelancerCache freelancerCache) {
+        this.freelancerCache = freelancerCache;
+    }
+
+    @GetMapping("/freelancers")
+    public ResponseEntity<FreelancerCache.CacheStats> getFreelancerCacheStats() {
+        return ResponseEntity.ok(freelancerCache.getStats());
+    }
+}
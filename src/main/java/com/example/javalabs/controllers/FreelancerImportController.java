@@ -0,0 +1,56 @@
+package com.example.javalabs.controllers;
+
+import com.example.javalabs.models.ImportTask;
+import com.example.javalabs.services.FreelancerImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/freelancers/import")
+@Tag(name = "Freelancer import", description = "Streaming bulk import of freelancers")
+public class FreelancerImportController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final FreelancerImportService importService;
+
+    public FreelancerImportController(FreelancerImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = {NDJSON, CSV})
+    @Operation(summary = "Import freelancers",
+               description = "Stream NDJSON or CSV (with a header row) and persist it in batches in the background")
+    @ApiResponse(responseCode = "202", description = "Import accepted; poll the status endpoint for progress")
+    public ResponseEntity<ImportTask> importFreelancers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        HttpServletRequest request) throws IOException {
+        FreelancerImportService.Format format = contentType.startsWith(CSV)
+                ? FreelancerImportService.Format.CSV
+                : FreelancerImportService.Format.NDJSON;
+        ImportTask task = importService.importFreelancers(request.getInputStream(), format);
+        return ResponseEntity.accepted().body(task);
+    }
+
+    @GetMapping("/status/{taskId}")
+    @Operation(summary = "Get import status", description = "Progress of a streaming import")
+    @ApiResponse(responseCode = "200", description = "Import task")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    public ResponseEntity<?> getImportStatus(@PathVariable String taskId) {
+        ImportTask task = importService.getTaskStatus(taskId);
+        if (task == null) {
+            return ResponseEntity.status(404).body("Task not found");
+        }
+        return ResponseEntity.ok(task);
+    }
+}
@@ -1,16 +1,29 @@
 package com.example.javalabs.controllers;
 
+import com.example.javalabs.cache.FreelancerResponseCache;
+import com.example.javalabs.cache.FreelancerResponseCache.EncodedResponse;
+import com.example.javalabs.models.BulkUpsertResult;
 import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerPage;
+import com.example.javalabs.models.FreelancerSearch;
+import com.example.javalabs.models.FreelancerSnapshot;
 import com.example.javalabs.services.impl.FreelancerService;
-import com.example.javalabs.services.LogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,28 +33,101 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = {"http://localhost:3000", "https://freelance-marketplace-frontend.up.railway.app/"})
 public class FreelancersController {
     private final FreelancerService freelancerService;
+    private final FreelancerResponseCache freelancerResponseCache;
+    private final ObjectWriter snapshotWriter;
+    private static final String NDJSON = "application/x-ndjson";
 
-    public FreelancersController(FreelancerService freelancerService, LogService logService) {
+    public FreelancersController(FreelancerService freelancerService,
+                                 FreelancerResponseCache freelancerResponseCache, ObjectMapper objectMapper) {
         this.freelancerService = freelancerService;
+        this.freelancerResponseCache = freelancerResponseCache;
+        this.snapshotWriter = objectMapper.writerFor(FreelancerSnapshot.class);
     }
 
     @GetMapping("/freelancers")
     @Operation(summary = "Get freelancers", description = "Retrieve freelancers by category and/or skill")
     @ApiResponse(responseCode = "200", description = "List of freelancers")
-    public ResponseEntity<List<Freelancer>> getFreelancers(
+    @ApiResponse(responseCode = "304", description = "Listing unchanged since the given ETag")
+    public void getFreelancers(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String skillName) {
-        List<Freelancer> freelancers = freelancerService.getFreelancers(category, skillName);
-        return ResponseEntity.ok(freelancers);
+            @RequestParam(required = false) String skillName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        List<FreelancerSnapshot> freelancers = freelancerService.getFreelancers(category, skillName);
+        EncodedResponse encoded = freelancerResponseCache.encode(category, skillName, freelancers);
+        response.setHeader(HttpHeaders.ETAG, encoded.etag());
+        if (encoded.matches(ifNoneMatch)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(encoded.body().length);
+        response.getOutputStream().write(encoded.body());
+    }
+
+    @GetMapping("/freelancers/page")
+    @Operation(summary = "Get a page of freelancers",
+               description = "Keyset-paginated listing ordered by ID; pass nextAfterId as afterId for the next page")
+    @ApiResponse(responseCode = "200", description = "Page of freelancers")
+    @ApiResponse(responseCode = "400", description = "Invalid limit")
+    public ResponseEntity<FreelancerPage> getFreelancersPage(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String skillName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(freelancerService.getFreelancersPage(category, skillName, afterId, limit));
+    }
+
+    @GetMapping("/freelancers/search")
+    @Operation(summary = "Search freelancers",
+               description = "Filter by category, skills (ALL or ANY), rating and hourly rate ranges; "
+                       + "sort by ID, RATING or RATE")
+    @ApiResponse(responseCode = "200", description = "Matching freelancers")
+    @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    public ResponseEntity<List<FreelancerSnapshot>> searchFreelancers(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(defaultValue = "ALL") FreelancerSearch.SkillMatch match,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Double maxRating,
+            @RequestParam(required = false) Double minRate,
+            @RequestParam(required = false) Double maxRate,
+            @RequestParam(defaultValue = "ID") FreelancerSearch.SortField sort,
+            @RequestParam(defaultValue = "ASC") FreelancerSearch.SortDirection direction,
+            @RequestParam(defaultValue = "50") int limit) {
+        FreelancerSearch search = new FreelancerSearch(category, skills, match, minRating, maxRating,
+                                                       minRate, maxRate, sort, direction, limit);
+        return ResponseEntity.ok(freelancerService.searchFreelancers(search));
+    }
+
+    @GetMapping(value = "/freelancers/stream", produces = NDJSON)
+    @Operation(summary = "Stream freelancers", description = "Stream all matching freelancers as NDJSON")
+    @ApiResponse(responseCode = "200", description = "One JSON document per line")
+    public void streamFreelancers(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String skillName,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        freelancerService.streamFreelancers(category, skillName, freelancer -> {
+            try {
+                out.write(snapshotWriter.writeValueAsBytes(freelancer));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
     }
 
     @PostMapping("/freelancers/bulk")
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Bulk upsert freelancers", description = "Create or update multiple freelancers")
+    @Operation(summary = "Bulk upsert freelancers",
+               description = "Create or update multiple freelancers, matched by ID or by name and category")
     @ApiResponse(responseCode = "200", description = "Freelancers processed")
     @ApiResponse(responseCode = "400", description = "Invalid input")
-    public ResponseEntity<List<Freelancer>> bulkUpsertFreelancers(@Valid @RequestBody List<Freelancer> freelancers) {
-        List<Freelancer> result = freelancerService.bulkUpsertFreelancers(freelancers);
+    public ResponseEntity<BulkUpsertResult> bulkUpsertFreelancers(@Valid @RequestBody List<Freelancer> freelancers) {
+        BulkUpsertResult result = freelancerService.bulkUpsertFreelancers(freelancers);
         return ResponseEntity.ok(result);
     }
 
@@ -1,19 +1,25 @@
 package com.example.javalabs.controllers;
 
+import com.example.javalabs.logs.FileDownload;
+import com.example.javalabs.logs.LogLineWriter;
+import com.example.javalabs.logs.LogQuery;
 import com.example.javalabs.models.LogTask;
 import com.example.javalabs.services.LogService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.concurrent.CompletableFuture;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -24,11 +30,47 @@ public class LogController {
         this.logService = logService;
     }
 
+    /**
+     * Starts an export of one {@code date} or of the days from {@code fromDate} to
+     * {@code toDate}.
+     */
     @PostMapping
     public ResponseEntity<String> createLogFile(@RequestParam(required = false) String date,
-                                                @RequestParam(required = false) String level) {
-        CompletableFuture<String> taskIdFuture = logService.createLogFileAsync(date, level);
-        return ResponseEntity.ok(taskIdFuture.join());
+                                                @RequestParam(required = false) String fromDate,
+                                                @RequestParam(required = false) String toDate,
+                                                @RequestParam(required = false) String level,
+                                                @RequestParam(required = false) String from,
+                                                @RequestParam(required = false) String to) {
+        return ResponseEntity.ok(logService.createLogFile(LogQuery.parse(date, fromDate, toDate, level, from, to)));
+    }
+
+    /**
+     * Streams matching lines of one day, or of a range of days, without creating an export
+     * task, stopping after {@code limit} lines.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamLogs(@RequestParam(required = false) String date,
+                                                            @RequestParam(required = false) String fromDate,
+                                                            @RequestParam(required = false) String toDate,
+                                                            @RequestParam(required = false) String level,
+                                                            @RequestParam(required = false) String from,
+                                                            @RequestParam(required = false) String to,
+                                                            @RequestParam(defaultValue = "1000") int limit,
+                                                            @RequestParam(defaultValue = "TEXT") LogLineWriter.Format format) {
+        LogQuery query = logService.checkStream(LogQuery.parse(date, fromDate, toDate, level, from, to), limit);
+        StreamingResponseBody body = out -> logService.streamLogs(query, new LogLineWriter(out, format, limit));
+        MediaType contentType = format == LogLineWriter.Format.NDJSON
+                ? MediaType.APPLICATION_NDJSON
+                : new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    @DeleteMapping("/{taskId}")
+    public ResponseEntity<String> cancelTask(@PathVariable String taskId) {
+        if (!logService.cancelTask(taskId)) {
+            return ResponseEntity.status(409).body("Task already finished");
+        }
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/status/{taskId}")
@@ -40,8 +82,13 @@ public class LogController {
         return ResponseEntity.ok(task);
     }
 
+    /**
+     * Downloads the export of a completed task. Supports {@code Range}/{@code If-Range} for
+     * resuming and gzip when the client accepts it.
+     */
     @GetMapping("/file/{taskId}")
-    public ResponseEntity<?> getLogFile(@PathVariable String taskId) {
+    public ResponseEntity<?> getLogFile(@PathVariable String taskId, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
         LogTask task = logService.getTaskStatus(taskId);
         if (task == null) {
             return ResponseEntity.status(404).body("Task not found");
@@ -50,13 +97,11 @@ public class LogController {
             return ResponseEntity.status(202).body("File is not ready yet");
         }
         Path filePath = logService.getLogFile(taskId);
-        try {
-            Resource resource = new UrlResource(filePath.toUri());
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filePath.getFileName() + "\"")
-                    .body(resource);
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error retrieving file: " + e.getMessage());
+        if (filePath == null) {
+            return ResponseEntity.status(404).body("File no longer available");
         }
+        FileDownload.serve(filePath, "text/plain;charset=UTF-8", request, response);
+        // The response is already written.
+        return null;
     }
-}
\ No newline at end of file
+}
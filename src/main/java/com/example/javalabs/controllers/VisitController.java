@@ -1,5 +1,8 @@
 package com.example.javalabs.controllers;
 
+import com.example.javalabs.counters.HeavyHitters;
+import com.example.javalabs.exceptions.ValidationException;
+import com.example.javalabs.models.VisitRates;
 import com.example.javalabs.services.VisitCounterService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,8 +10,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/visits")
@@ -20,13 +23,33 @@ public class VisitController {
         this.visitCounterService = visitCounterService;
     }
 
+    /**
+     * Visit counts by route template, e.g. {@code url=/api/freelancers/{id}}.
+     */
     @GetMapping
     public ResponseEntity<Map<String, Long>> getVisitCounts(@RequestParam(required = false) String url) {
         if (url != null) {
             return ResponseEntity.ok(Map.of(url, visitCounterService.getVisitCount(url)));
         }
-        Map<String, Long> counts = visitCounterService.getAllCounters().entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
-        return ResponseEntity.ok(counts);
+        return ResponseEntity.ok(visitCounterService.getAllCounters());
     }
-}
\ No newline at end of file
+
+    /**
+     * Visits per second over the last 1, 5 and 15 minutes by route template.
+     */
+    @GetMapping("/rates")
+    public ResponseEntity<Map<String, VisitRates>> getVisitRates() {
+        return ResponseEntity.ok(visitCounterService.getAllRates());
+    }
+
+    /**
+     * The most visited URIs of late with approximate counts that halve every minute.
+     */
+    @GetMapping("/hot")
+    public ResponseEntity<List<HeavyHitters.Entry>> getHotUris(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            throw new ValidationException("'limit' must be positive");
+        }
+        return ResponseEntity.ok(visitCounterService.getHotUris(limit));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.javalabs.counters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The most frequent keys of an unbounded stream in bounded memory: a Count-Min Sketch estimates
+ * how often each key was seen, and the {@code capacity} keys with the highest estimates are kept
+ * as candidates. Estimates never undercount; with a width of {@code w} they overcount by at most
+ * {@code e/w} of all events with high probability.
+ *
+ * <p>Adding a key touches the sketch and, for a candidate, raises its count in place, so neither
+ * cold nor hot keys lock or allocate. Only a key whose estimate beats the smallest candidate
+ * takes the admission lock, and only if no other thread holds it; otherwise it tries again on
+ * its next visit, when its estimate is no lower. {@link #decay()} halves all counts, which makes
+ * the candidates follow what is hot now rather than what was hot since startup.
+ */
+public class HeavyHitters {
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    public record Entry(String key, long count) {
+    }
+
+    private final int depth;
+    private final int widthMask;
+    private final int capacity;
+    private final AtomicLongArray cells;
+    private final ConcurrentHashMap<String, AtomicLong> candidates = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // The smallest candidate count once there are capacity candidates, 0 before.
+    private volatile long threshold;
+
+    /**
+     * @param depth    hash rows, at most 8; the error bound holds with probability
+     *                 {@code 1 - e^-depth}
+     * @param width    cells per row, rounded up to a power of two
+     * @param capacity number of keys reported
+     */
+    public HeavyHitters(int depth, int width, int capacity) {
+        if (depth <= 0 || depth > SEEDS.length || width <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Invalid sketch size " + depth + "x" + width + ", top " + capacity);
+        }
+        int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.capacity = capacity;
+        this.cells = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    public void add(String key) {
+        long estimate = Long.MAX_VALUE;
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.incrementAndGet(cell(row, hash)));
+        }
+        AtomicLong count = candidates.get(key);
+        if (count != null) {
+            raise(count, estimate);
+        } else if (estimate > threshold && lock.tryLock()) {
+            try {
+                admit(key, estimate);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public long estimate(String key) {
+        long estimate = Long.MAX_VALUE;
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.get(cell(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Up to {@code limit} candidates, most frequent first.
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(candidates.size());
+        candidates.forEach((key, count) -> entries.add(new Entry(key, count.get())));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key));
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * Halves every count; candidates that drop to zero are forgotten.
+     */
+    public void decay() {
+        lock.lock();
+        try {
+            for (int i = 0; i < cells.length(); i++) {
+                cells.getAndUpdate(i, count -> count >>> 1);
+            }
+            candidates.values().forEach(count -> count.getAndUpdate(value -> value >>> 1));
+            candidates.values().removeIf(count -> count.get() == 0);
+            threshold = candidates.size() < capacity ? 0 : minimum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held.
+    private void admit(String key, long estimate) {
+        AtomicLong existing = candidates.get(key);
+        if (existing != null) {
+            raise(existing, estimate);
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            Map.Entry<String, AtomicLong> smallest = null;
+            for (Map.Entry<String, AtomicLong> entry : candidates.entrySet()) {
+                if (smallest == null || entry.getValue().get() < smallest.getValue().get()) {
+                    smallest = entry;
+                }
+            }
+            if (smallest == null || smallest.getValue().get() >= estimate) {
+                threshold = smallest == null ? 0 : smallest.getValue().get();
+                return;
+            }
+            candidates.remove(smallest.getKey());
+        }
+        candidates.put(key, new AtomicLong(estimate));
+        threshold = candidates.size() < capacity ? 0 : minimum();
+    }
+
+    private static void raise(AtomicLong count, long estimate) {
+        long current;
+        while ((current = count.get()) < estimate && !count.compareAndSet(current, estimate)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private long minimum() {
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong count : candidates.values()) {
+            minimum = Math.min(minimum, count.get());
+        }
+        return minimum == Long.MAX_VALUE ? 0 : minimum;
+    }
+
+    private int cell(int row, int hash) {
+        long mixed = (hash ^ SEEDS[row]) * 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xC4CEB9FE1A85EC53L;
+        mixed ^= mixed >>> 33;
+        return row * (widthMask + 1) + (int) (mixed & widthMask);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.javalabs.counters;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event counts over a sliding window, kept in a ring of fixed-length time buckets. Each slot
+ * packs the number of its bucket (its start time divided by the bucket length) into the high
+ * bits and the count into the low bits, so moving a slot on to a new bucket and counting the
+ * first event in it is a single compare-and-set. Slots still holding an older bucket count as
+ * empty, and no background task is needed to clear them.
+ *
+ * <p>Windows are rounded up to whole buckets and include the bucket in progress.
+ */
+public class SlidingWindowCounter {
+    private static final int COUNT_BITS = 36;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long BUCKET_MASK = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    public SlidingWindowCounter(long bucketMillis, int buckets) {
+        if (bucketMillis <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("bucketMillis and buckets must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    public void increment(long nowMillis) {
+        long bucket = (nowMillis / bucketMillis) & BUCKET_MASK;
+        int index = (int) Long.remainderUnsigned(bucket, slots.length());
+        while (true) {
+            long slot = slots.get(index);
+            long next = slot >>> COUNT_BITS == bucket ? slot + 1 : bucket << COUNT_BITS | 1;
+            if (slots.compareAndSet(index, slot, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The number of events in the last {@code windowMillis} up to {@code nowMillis}, at most
+     * as far back as the ring reaches.
+     */
+    public long sum(long nowMillis, long windowMillis) {
+        int buckets = (int) Math.min(slots.length(), (windowMillis + bucketMillis - 1) / bucketMillis);
+        long current = nowMillis / bucketMillis;
+        long sum = 0;
+        for (int i = 0; i < buckets; i++) {
+            long bucket = (current - i) & BUCKET_MASK;
+            long slot = slots.get((int) Long.remainderUnsigned(bucket, slots.length()));
+            if (slot >>> COUNT_BITS == bucket) {
+                sum += slot & COUNT_MASK;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Events per second over the last {@code windowMillis}.
+     */
+    public double rate(long nowMillis, long windowMillis) {
+        return sum(nowMillis, windowMillis) * 1000.0 / windowMillis;
+    }
+}
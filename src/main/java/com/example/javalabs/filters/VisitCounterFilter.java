@@ -8,7 +8,15 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
+/**
+ * Counts requests to {@code /api/freelancers} by the route template the request was mapped to,
+ * so {@code /api/freelancers/1} and {@code /api/freelancers/2} share one counter. The template
+ * is only known once the dispatcher has handled the request; requests that matched no handler
+ * are counted under {@link VisitCounterService#OTHER}. The concrete URI is recorded as well to
+ * find the hottest freelancers.
+ */
 @Component
 public class VisitCounterFilter implements Filter {
     private final VisitCounterService visitCounterService;
@@ -21,10 +29,17 @@ public class VisitCounterFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, jakarta.servlet.ServletException {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
-        String url = httpRequest.getRequestURI();
-        if (url.startsWith("/api/freelancers")) {
-            visitCounterService.incrementVisit(url);
+        String uri = httpRequest.getRequestURI();
+        if (!uri.startsWith("/api/freelancers")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            visitCounterService.incrementVisit(pattern instanceof String route ? route : VisitCounterService.OTHER);
+            visitCounterService.recordUri(uri);
         }
-        chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
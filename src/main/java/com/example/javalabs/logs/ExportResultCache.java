@@ -0,0 +1,104 @@
+package com.example.javalabs.logs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finished exports of closed days, keyed by the query and the source file's modification time
+ * and size, so a changed file never serves a stale result. The cache owns the result files:
+ * least recently used entries are evicted, and their files deleted, once the entry count or
+ * the total size exceeds the limits.
+ */
+public class ExportResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportResultCache.class);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public record Key(LogQuery query, long lastModified, long size) {
+    }
+
+    private record Entry(Path file, long bytes) {
+    }
+
+    public ExportResultCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached result file, or null if absent or deleted from disk.
+     */
+    public Path get(Key key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !Files.exists(entry.file())) {
+                entries.remove(key);
+                totalBytes -= entry.bytes();
+                entry = null;
+            }
+        }
+        return entry == null ? null : entry.file();
+    }
+
+    public void put(Key key, Path file) throws IOException {
+        long bytes = Files.size(file);
+        List<Path> evicted = new ArrayList<>();
+        synchronized (entries) {
+            Entry previous = entries.put(key, new Entry(file, bytes));
+            totalBytes += bytes;
+            if (previous != null) {
+                totalBytes -= previous.bytes();
+                if (!previous.file().equals(file)) {
+                    evicted.add(previous.file());
+                }
+            }
+            Iterator<Entry> iterator = entries.values().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+                Entry eldest = iterator.next();
+                if (eldest.file().equals(file)) {
+                    continue;
+                }
+                iterator.remove();
+                totalBytes -= eldest.bytes();
+                evicted.add(eldest.file());
+            }
+        }
+        for (Path path : evicted) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete evicted export {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    public boolean contains(Path file) {
+        synchronized (entries) {
+            return entries.values().stream().anyMatch(entry -> entry.file().equals(file));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long totalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+}
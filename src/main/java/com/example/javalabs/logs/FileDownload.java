@@ -0,0 +1,188 @@
+package com.example.javalabs.logs;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a file as an HTTP download supporting a single {@code Range} (honoured only if an
+ * {@code If-Range} validator still matches) and gzip negotiated by {@code Accept-Encoding}.
+ *
+ * <p>Identity bodies are handed to Tomcat's sendfile when the connector offers it, otherwise
+ * copied with {@link FileChannel#transferTo}. Ranges always address the identity bytes, so a
+ * ranged response is never compressed.
+ */
+public final class FileDownload {
+    static final int MIN_GZIP_SIZE = 2048;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileDownload() {
+    }
+
+    record ByteRange(long start, long end) {
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    public static void serve(Path file, String contentType, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        long size = Files.size(file);
+        // HTTP dates have second precision.
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"");
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Vary", "Accept-Encoding");
+
+        String rangeHeader = request.getHeader("Range");
+        ByteRange range = rangeHeader != null && ifRangeMatches(request, etag, lastModified)
+                ? parseRange(rangeHeader, size)
+                : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range", "bytes */" + size);
+            return;
+        }
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + range.start() + "-" + (range.end() - 1) + "/" + size);
+            send(file, range.start(), range.end(), request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (size >= MIN_GZIP_SIZE && acceptsGzip(request.getHeader("Accept-Encoding"))) {
+            response.setHeader("Content-Encoding", "gzip");
+            sendGzip(file, response);
+            return;
+        }
+        send(file, 0, size, request, response);
+    }
+
+    /**
+     * Parses a single {@code bytes=} range against a file of {@code size} bytes. Returns null
+     * for headers that must be ignored (malformed, other units, several ranges) and
+     * {@link ByteRange#UNSATISFIABLE} if no byte of the file is selected.
+     */
+    static ByteRange parseRange(String header, long size) {
+        String value = header.trim();
+        if (!value.startsWith("bytes=") || value.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = value.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return ByteRange.UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size);
+            }
+            long start = Long.parseLong(first);
+            Long end = last.isEmpty() ? null : Long.parseLong(last);
+            if (start < 0 || (end != null && end < start)) {
+                return null;
+            }
+            // Checked before an open end is taken as the last byte, which would precede start.
+            if (start >= size) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            return new ByteRange(start, end == null ? size : Math.min(end, size - 1) + 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // An If-Range holding a strong ETag or an HTTP date must match the current file, otherwise
+    // the whole file is sent.
+    static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader("If-Range") == lastModified;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim().replace(" ", "");
+                    if (parameter.equals("q=0") || parameter.matches("q=0\\.0*")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(Path file, long start, long end, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(end - start);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static void sendGzip(Path file, HttpServletResponse response) throws IOException {
+        // Fastest level: log text still compresses several times over and the CPU cost stays low.
+        try (OutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+    }
+}
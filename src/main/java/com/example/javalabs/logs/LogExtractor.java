@@ -0,0 +1,293 @@
+package com.example.javalabs.logs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Copies the lines of a log file accepted by a {@link LogFilter} to a channel, in file order.
+ *
+ * <p>The file is memory-mapped in line-aligned chunks that are scanned in parallel on the given
+ * executor, which has to be bounded and dedicated to blocking file work; only the matching bytes
+ * are copied, nothing is decoded into Strings. At most {@code parallelism + 2} chunk results are
+ * held in memory while they wait for their turn to be written. Without an executor the chunks
+ * are scanned on the calling thread.
+ */
+public class LogExtractor {
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int BOUNDARY_PROBE_SIZE = 8 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 1024 * 1024;
+    // Lines scanned between calls of LineVisitor.progress(), a power of two.
+    private static final int PROGRESS_LINES = 1024;
+
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public LogExtractor() {
+        this(Runnable::run, 1, DEFAULT_CHUNK_SIZE);
+    }
+
+    public LogExtractor(Executor executor, int parallelism, int chunkSize) {
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = parallelism + 2;
+    }
+
+    public record Result(long linesMatched, long bytesWritten) {
+    }
+
+    public Result extract(Path source, LogFilter filter, WritableByteChannel out) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return extract(channel, 0, channel.size(), filter, out);
+        }
+    }
+
+    /**
+     * Extracts from the byte range {@code [from, to)} of {@code channel}; {@code from} must be
+     * the start of a line.
+     */
+    public Result extract(FileChannel channel, long from, long to, LogFilter filter,
+                          WritableByteChannel out) throws IOException {
+        Deque<FutureTask<ChunkResult>> window = new ArrayDeque<>();
+        long lines = 0;
+        long bytes = 0;
+        long start = from;
+        try {
+            while (start < to) {
+                long end = lineBoundaryAfter(channel, Math.min(to, start + chunkSize), to);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                FutureTask<ChunkResult> task = new FutureTask<>(() -> scan(chunk, filter));
+                window.addLast(task);
+                executor.execute(task);
+                start = end;
+                if (window.size() >= maxInFlight) {
+                    ChunkResult result = await(window.removeFirst());
+                    lines += result.lines();
+                    bytes += write(result.matches(), out);
+                }
+            }
+            while (!window.isEmpty()) {
+                ChunkResult result = await(window.removeFirst());
+                lines += result.lines();
+                bytes += write(result.matches(), out);
+            }
+        } finally {
+            window.forEach(task -> task.cancel(true));
+        }
+        return new Result(lines, bytes);
+    }
+
+    /**
+     * Receives matching lines as {@code [start, end)} of a buffer that is only valid during the
+     * call; returns false to stop the scan. {@link #progress()} is called every 1024 lines
+     * scanned, matching or not, so a visitor can act on time even while nothing matches.
+     */
+    @FunctionalInterface
+    public interface LineVisitor {
+        boolean visit(ByteBuffer buffer, int start, int end) throws IOException;
+
+        default void progress() throws IOException {
+        }
+    }
+
+    /**
+     * Scans {@code [from, to)} sequentially on the calling thread and hands each matching line
+     * to {@code visitor} as soon as it is found. Unlike {@link #extract} nothing is scanned ahead,
+     * so stopping early wastes no work. Returns false if the visitor stopped the scan.
+     *
+     * @throws InterruptedIOException if the calling thread is interrupted
+     */
+    public boolean forEachMatch(FileChannel channel, long from, long to, LogFilter filter,
+                                LineVisitor visitor) throws IOException {
+        long start = from;
+        long scanned = 0;
+        while (start < to) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Log scan interrupted");
+            }
+            long end = lineBoundaryAfter(channel, Math.min(to, start + chunkSize), to);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            int limit = chunk.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                if ((++scanned & (PROGRESS_LINES - 1)) == 0) {
+                    visitor.progress();
+                }
+                int newline = lineStart;
+                while (newline < limit && chunk.get(newline) != '\n') {
+                    newline++;
+                }
+                int lineEnd = newline > lineStart && chunk.get(newline - 1) == '\r' ? newline - 1 : newline;
+                if (filter.matches(chunk, lineStart, lineEnd) && !visitor.visit(chunk, lineStart, lineEnd)) {
+                    return false;
+                }
+                lineStart = newline + 1;
+            }
+            start = end;
+        }
+        return true;
+    }
+
+    /**
+     * Decides whether a line of a stream is wanted, given its offset in the stream.
+     */
+    @FunctionalInterface
+    public interface LineSelector {
+        boolean select(ByteBuffer buffer, int start, int end, long offset);
+    }
+
+    /**
+     * Reads a stream, such as a decompressing one, once from start to end and hands each line
+     * the selector accepts to {@code visitor}. Returns false if the visitor stopped the scan.
+     *
+     * @throws InterruptedIOException if the calling thread is interrupted
+     */
+    public boolean forEachMatch(InputStream in, LineSelector selector, LineVisitor visitor) throws IOException {
+        byte[] bytes = new byte[STREAM_BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long offset = 0;
+        long scanned = 0;
+        int filled = 0;
+        int searchFrom = 0;
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Log scan interrupted");
+            }
+            int read = in.read(bytes, filled, bytes.length - filled);
+            boolean eof = read < 0;
+            if (!eof) {
+                filled += read;
+            }
+            int lineStart = 0;
+            for (int i = searchFrom; i < filled; i++) {
+                if (bytes[i] != '\n') {
+                    continue;
+                }
+                if ((++scanned & (PROGRESS_LINES - 1)) == 0) {
+                    visitor.progress();
+                }
+                int lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+                if (selector.select(buffer, lineStart, lineEnd, offset + lineStart)
+                        && !visitor.visit(buffer, lineStart, lineEnd)) {
+                    return false;
+                }
+                lineStart = i + 1;
+            }
+            if (eof) {
+                // A last line without a line break.
+                return lineStart >= filled
+                        || !selector.select(buffer, lineStart, filled, offset + lineStart)
+                        || visitor.visit(buffer, lineStart, filled);
+            }
+            System.arraycopy(bytes, lineStart, bytes, 0, filled - lineStart);
+            offset += lineStart;
+            filled -= lineStart;
+            searchFrom = filled;
+            if (filled == bytes.length) {
+                // A single line longer than the buffer.
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                buffer = ByteBuffer.wrap(bytes);
+            }
+        }
+    }
+
+    private record ChunkResult(ByteBuffer matches, long lines) {
+    }
+
+    private static ChunkResult await(FutureTask<ChunkResult> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Log scan interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Log scan failed", e.getCause());
+        }
+    }
+
+    private static ChunkResult scan(ByteBuffer chunk, LogFilter filter) {
+        int limit = chunk.limit();
+        ByteBuffer matches = null;
+        long lines = 0;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int newline = lineStart;
+            while (newline < limit && chunk.get(newline) != '\n') {
+                newline++;
+            }
+            int lineEnd = newline > lineStart && chunk.get(newline - 1) == '\r' ? newline - 1 : newline;
+            if (filter.matches(chunk, lineStart, lineEnd)) {
+                int length = lineEnd - lineStart;
+                if (matches == null) {
+                    matches = ByteBuffer.allocate(Math.max(length + 1, limit / 8));
+                } else if (matches.remaining() < length + 1) {
+                    matches = grow(matches, length + 1);
+                }
+                matches.put(matches.position(), chunk, lineStart, length);
+                matches.position(matches.position() + length);
+                matches.put((byte) '\n');
+                lines++;
+            }
+            lineStart = newline + 1;
+        }
+        return new ChunkResult(matches == null ? ByteBuffer.allocate(0) : matches.flip(), lines);
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        grown.put(buffer.flip());
+        return grown;
+    }
+
+    private static long write(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += out.write(buffer);
+        }
+        return written;
+    }
+
+    // Returns the offset just past the first '\n' at or after position, or limit.
+    private static long lineBoundaryAfter(FileChannel channel, long position, long limit) throws IOException {
+        if (position >= limit) {
+            return limit;
+        }
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_SIZE);
+        long offset = position;
+        while (offset < limit) {
+            probe.clear();
+            probe.limit((int) Math.min(probe.capacity(), limit - offset));
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                return limit;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.javalabs.logs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Matches raw log lines of the form {@code yyyy-MM-dd HH:mm:ss LEVEL ...} without decoding
+ * them. Blank lines and lines shorter than {@link #MIN_LINE_LENGTH} never match. Time bounds
+ * only apply to timestamped lines; continuation lines such as stack traces pass them.
+ */
+public final class LogFilter {
+    public static final int LEVEL_OFFSET = 20;
+    public static final int MIN_LINE_LENGTH = 25;
+    private static final int TIME_OFFSET = 11;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final LogFilter EVERY_LINE = new LogFilter(null, null, null, true);
+
+    private final byte[] level;
+    private final byte[] from;
+    private final byte[] to;
+    private final boolean everyLine;
+
+    private LogFilter(byte[] level, byte[] from, byte[] to, boolean everyLine) {
+        this.level = level;
+        this.from = from;
+        this.to = to;
+        this.everyLine = everyLine;
+    }
+
+    /**
+     * Accepts every line, including blank and short ones; for ranges already known to hold
+     * exactly the wanted events.
+     */
+    public static LogFilter everyLine() {
+        return EVERY_LINE;
+    }
+
+    /**
+     * A null level matches every line.
+     */
+    public static LogFilter of(String level) {
+        return of(level, null, null);
+    }
+
+    /**
+     * Matches lines with the level whose time of day is in {@code [from, to)}; null arguments
+     * do not restrict.
+     */
+    public static LogFilter of(String level, LocalTime from, LocalTime to) {
+        return new LogFilter(level == null ? null : ascii(level.trim().toUpperCase()),
+                             from == null ? null : ascii(TIME_FORMAT.format(from)),
+                             to == null ? null : ascii(TIME_FORMAT.format(to)), false);
+    }
+
+    /**
+     * Tests the line occupying {@code [start, end)} of {@code buffer}, excluding the line break.
+     */
+    public boolean matches(ByteBuffer buffer, int start, int end) {
+        if (everyLine) {
+            return true;
+        }
+        if (end - start < MIN_LINE_LENGTH || isBlank(buffer, start, end)) {
+            return false;
+        }
+        if ((from != null || to != null) && isTimestamped(buffer, start, end)) {
+            if (from != null && compareTime(buffer, start, from) < 0
+                    || to != null && compareTime(buffer, start, to) >= 0) {
+                return false;
+            }
+        }
+        return level == null || levelEquals(buffer, start, end, level);
+    }
+
+    static boolean isTimestamped(ByteBuffer buffer, int start, int end) {
+        return end - start >= 19
+                && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-' && buffer.get(start + 10) == ' '
+                && buffer.get(start + 13) == ':' && buffer.get(start + 16) == ':';
+    }
+
+    // The level is the token starting at LEVEL_OFFSET up to the next space, compared ignoring
+    // ASCII case.
+    static boolean levelEquals(ByteBuffer buffer, int start, int end, byte[] level) {
+        int from = start + LEVEL_OFFSET;
+        int tokenEnd = from;
+        while (tokenEnd < end && buffer.get(tokenEnd) != ' ') {
+            tokenEnd++;
+        }
+        if (tokenEnd >= end || tokenEnd - from != level.length) {
+            return false;
+        }
+        for (int i = 0; i < level.length; i++) {
+            byte b = buffer.get(from + i);
+            if (b >= 'a' && b <= 'z') {
+                b -= 'a' - 'A';
+            }
+            if (b != level[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareTime(ByteBuffer buffer, int start, byte[] bound) {
+        for (int i = 0; i < bound.length; i++) {
+            int diff = buffer.get(start + TIME_OFFSET + i) - bound[i];
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
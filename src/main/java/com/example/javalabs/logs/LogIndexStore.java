@@ -0,0 +1,63 @@
+package com.example.javalabs.logs;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link LogTimeIndex} of recently queried log files in memory and persists each
+ * one next to its file as {@code <file>.idx}, so a restart only indexes what was appended since.
+ */
+public class LogIndexStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogIndexStore.class);
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int MAX_CACHED_INDEXES = 32;
+
+    private final Map<Path, LogTimeIndex> indexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, LogTimeIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    /**
+     * Returns the index of {@code logFile}, brought up to date with the bytes currently in
+     * {@code channel}.
+     */
+    public LogTimeIndex get(Path logFile, FileChannel channel) throws IOException {
+        Path indexFile = indexFile(logFile);
+        LogTimeIndex index;
+        synchronized (indexes) {
+            index = indexes.get(logFile);
+        }
+        if (index == null) {
+            index = LogTimeIndex.readFrom(indexFile);
+            synchronized (indexes) {
+                LogTimeIndex existing = indexes.putIfAbsent(logFile, index);
+                if (existing != null) {
+                    index = existing;
+                }
+            }
+        }
+        long startTime = System.nanoTime();
+        if (index.update(channel)) {
+            try {
+                index.writeTo(indexFile);
+            } catch (IOException e) {
+                // The in-memory index is still valid; the next update retries the write.
+                LOGGER.warn("Could not persist log index {}: {}", indexFile, e.getMessage());
+            }
+            LOGGER.debug("Indexed {} up to byte {} in {} ms", logFile, index.indexedLength(),
+                         (System.nanoTime() - startTime) / 1_000_000);
+        }
+        return index;
+    }
+
+    public static Path indexFile(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + INDEX_SUFFIX);
+    }
+}
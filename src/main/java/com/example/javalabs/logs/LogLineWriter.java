@@ -0,0 +1,155 @@
+package com.example.javalabs.logs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes matched log lines to a response stream, either as they are ({@link Format#TEXT}) or as
+ * one JSON object per line ({@link Format#NDJSON}) with {@code timestamp}, {@code level} and
+ * {@code message}; untimestamped lines such as stack traces only carry {@code message}.
+ *
+ * <p>Output is buffered but flushed with the first line and then at least every 100 ms while
+ * lines are buffered: the deadline is checked for every match and, through {@link #progress()},
+ * while the scan passes lines that do not match, so a slow trickle of matches still reaches the
+ * client promptly. A client that went away surfaces as an {@link IOException} from
+ * the next flush, which ends the scan.
+ */
+public class LogLineWriter implements LogExtractor.LineVisitor {
+    private static final long FLUSH_INTERVAL_NANOS = 100_000_000L;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    public enum Format { TEXT, NDJSON }
+
+    private final OutputStream out;
+    private final Format format;
+    private final long limit;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private long lines;
+    private long bytes;
+    private long lastFlush;
+    private boolean unflushed;
+
+    public LogLineWriter(OutputStream out, Format format, long limit) {
+        this.out = out;
+        this.format = format;
+        this.limit = limit;
+    }
+
+    public long lines() {
+        return lines;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    @Override
+    public boolean visit(ByteBuffer source, int start, int end) throws IOException {
+        if (format == Format.TEXT) {
+            write(source, start, end);
+        } else {
+            writeJson(source, start, end);
+        }
+        writeByte('\n');
+        lines++;
+        unflushed = true;
+        if (lines == 1) {
+            flush();
+        } else {
+            progress();
+        }
+        return lines < limit;
+    }
+
+    @Override
+    public void progress() throws IOException {
+        if (unflushed && System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+        lastFlush = System.nanoTime();
+        unflushed = false;
+    }
+
+    private void writeJson(ByteBuffer source, int start, int end) throws IOException {
+        int messageStart = start;
+        writeAscii("{");
+        if (LogFilter.isTimestamped(source, start, end) && end - start > LogFilter.LEVEL_OFFSET) {
+            int levelStart = start + LogFilter.LEVEL_OFFSET;
+            int levelEnd = levelStart;
+            while (levelEnd < end && source.get(levelEnd) != ' ') {
+                levelEnd++;
+            }
+            messageStart = levelEnd;
+            while (messageStart < end && source.get(messageStart) == ' ') {
+                messageStart++;
+            }
+            writeAscii("\"timestamp\":\"");
+            writeEscaped(source, start, start + 19);
+            writeAscii("\",\"level\":\"");
+            writeEscaped(source, levelStart, levelEnd);
+            writeAscii("\",");
+        }
+        writeAscii("\"message\":\"");
+        writeEscaped(source, messageStart, end);
+        writeAscii("\"}");
+    }
+
+    // UTF-8 bytes pass through unchanged; only quotes, backslashes and control characters are
+    // escaped.
+    private void writeEscaped(ByteBuffer source, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            int b = source.get(i) & 0xFF;
+            if (b == '"' || b == '\\') {
+                writeByte('\\');
+                writeByte(b);
+            } else if (b < 0x20) {
+                writeAscii("\\u00");
+                writeByte(HEX[b >> 4]);
+                writeByte(HEX[b & 0xF]);
+            } else {
+                writeByte(b);
+            }
+        }
+    }
+
+    private void write(ByteBuffer source, int start, int end) throws IOException {
+        int offset = start;
+        while (offset < end) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int length = Math.min(end - offset, buffer.length - position);
+            source.get(offset, buffer, position, length);
+            position += length;
+            offset += length;
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        bytes += position;
+        position = 0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.javalabs.logs;
+
+import com.example.javalabs.exceptions.ValidationException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * A validated log export request: the days {@code [date, endDate]}, an optional level and an
+ * optional time window {@code [from, to)} applied to each day. The level is upper-cased so
+ * requests differing only in case are equal.
+ */
+public record LogQuery(LocalDate date, LocalDate endDate, String level, LocalTime from, LocalTime to) {
+    // Matches the maxHistory of the rolling policy.
+    public static final int MAX_DAYS = 31;
+
+    public LogQuery {
+        endDate = endDate == null ? date : endDate;
+    }
+
+    public LogQuery(LocalDate date, String level, LocalTime from, LocalTime to) {
+        this(date, date, level, from, to);
+    }
+
+    public static LogQuery parse(String date, String level, String from, String to) {
+        return parse(date, null, null, level, from, to);
+    }
+
+    /**
+     * Parses either a single {@code date} (today if absent) or a range from {@code fromDate}
+     * to {@code toDate} inclusive, where a missing {@code toDate} means today.
+     */
+    public static LogQuery parse(String date, String fromDate, String toDate, String level, String from, String to) {
+        LocalDate first;
+        LocalDate last;
+        if (fromDate == null && toDate == null) {
+            first = date == null ? LocalDate.now() : parseDate(date);
+            last = first;
+        } else {
+            if (date != null) {
+                throw new ValidationException("Use either 'date' or 'fromDate'/'toDate'");
+            }
+            if (fromDate == null) {
+                throw new ValidationException("'fromDate' is required with 'toDate'");
+            }
+            first = parseDate(fromDate);
+            last = toDate == null ? LocalDate.now() : parseDate(toDate);
+            if (last.isBefore(first)) {
+                throw new ValidationException("'fromDate' must not be after 'toDate'");
+            }
+            if (ChronoUnit.DAYS.between(first, last) >= MAX_DAYS) {
+                throw new ValidationException("A query can span at most " + MAX_DAYS + " days");
+            }
+        }
+        LocalTime fromTime = parseTime("from", from);
+        LocalTime toTime = parseTime("to", to);
+        if (fromTime != null && toTime != null && !fromTime.isBefore(toTime)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+        return new LogQuery(first, last, level == null ? null : level.trim().toUpperCase(), fromTime, toTime);
+    }
+
+    public List<LocalDate> days() {
+        return date.datesUntil(endDate.plusDays(1)).toList();
+    }
+
+    /**
+     * The same filter restricted to one day.
+     */
+    public LogQuery forDay(LocalDate day) {
+        return new LogQuery(day, day, level, from, to);
+    }
+
+    /**
+     * True once the last day is over, i.e. no queried log file grows any more.
+     */
+    public boolean isClosedDay() {
+        return endDate.isBefore(LocalDate.now());
+    }
+
+    @Override
+    public String toString() {
+        return (date.equals(endDate) ? date.toString() : date + ".." + endDate)
+                + (level != null ? " " + level : "")
+                + (from != null || to != null ? " [" + from + ", " + to + ")" : "");
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid date format: " + value + ". Use yyyy-MM-dd");
+        }
+    }
+
+    private static LocalTime parseTime(String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid " + name + " time: " + value + ". Use HH:mm or HH:mm:ss");
+        }
+    }
+}
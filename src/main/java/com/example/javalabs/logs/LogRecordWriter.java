@@ -0,0 +1,111 @@
+package com.example.javalabs.logs;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Appends {@link LogRecords} for one log file. Reopening a file continues its records and
+ * dictionary; a torn record left by a crash is cut off. Not thread-safe.
+ */
+public class LogRecordWriter implements Closeable {
+    private final FileChannel records;
+    private final Writer dictionary;
+    private final Map<String, Integer> ids;
+    private int nextId;
+    private final ByteBuffer record = ByteBuffer.allocate(LogRecords.RECORD_SIZE);
+
+    private LogRecordWriter(FileChannel records, Writer dictionary, Map<String, Integer> ids, int nextId) {
+        this.records = records;
+        this.dictionary = dictionary;
+        this.ids = ids;
+        this.nextId = nextId;
+    }
+
+    public static LogRecordWriter open(Path logFile) throws IOException {
+        Path dictionaryFile = LogRecords.dictionaryFile(logFile);
+        Map<String, Integer> existing = new HashMap<>();
+        int lines = 0;
+        if (Files.exists(dictionaryFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(dictionaryFile, StandardCharsets.UTF_8)) {
+                String name;
+                while ((name = reader.readLine()) != null) {
+                    existing.putIfAbsent(name, lines++);
+                }
+            }
+        }
+        FileChannel records = FileChannel.open(LogRecords.recordFile(logFile), StandardOpenOption.CREATE,
+                                               StandardOpenOption.WRITE);
+        try {
+            long size = records.size();
+            records.truncate(size - size % LogRecords.RECORD_SIZE);
+            records.position(records.size());
+            Writer dictionary = Files.newBufferedWriter(dictionaryFile, StandardCharsets.UTF_8,
+                                                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return new LogRecordWriter(records, dictionary, existing, lines);
+        } catch (IOException | RuntimeException e) {
+            records.close();
+            throw e;
+        }
+    }
+
+    public void append(long timestamp, long offset, int length, String level, String logger, String thread)
+            throws IOException {
+        write(timestamp, offset, length, id(logger), id(thread), LogRecords.levelOrdinal(level));
+    }
+
+    /**
+     * Records text that is not a logging event, such as an encoder's header or footer, so the
+     * records stay contiguous.
+     */
+    public void appendText(long timestamp, long offset, int length) throws IOException {
+        write(timestamp, offset, length, -1, -1, LogRecords.NOT_AN_EVENT);
+    }
+
+    private void write(long timestamp, long offset, int length, int loggerId, int threadId, int level)
+            throws IOException {
+        record.clear();
+        record.putLong(timestamp)
+                .putLong(offset)
+                .putInt(length)
+                .putInt(loggerId)
+                .putInt(threadId)
+                .put((byte) level)
+                .put((byte) 0).put((byte) 0).put((byte) 0)
+                .flip();
+        while (record.hasRemaining()) {
+            records.write(record);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            dictionary.close();
+        } finally {
+            records.close();
+        }
+    }
+
+    private int id(String name) throws IOException {
+        String key = name == null ? "" : name.replace('\n', ' ').replace('\r', ' ');
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = nextId++;
+            dictionary.write(key);
+            dictionary.write('\n');
+            dictionary.flush();
+            ids.put(key, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.javalabs.logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary sidecar written next to a daily text log by {@link RecordingRollingFileAppender}.
+ *
+ * <p>{@code <file>.rec} holds one fixed-size big-endian record per logging event:
+ * <pre>
+ *  0  long  timestamp, epoch millis
+ *  8  long  offset of the event's text in the log file
+ * 16  int   length of the event's text, including stack trace lines
+ * 20  int   logger id
+ * 24  int   thread id
+ * 28  byte  level: 0 TRACE, 1 DEBUG, 2 INFO, 3 WARN, 4 ERROR, 5 other, 6 not an event
+ * 29  3 bytes reserved
+ * </pre>
+ * Logger and thread ids index {@code <file>.dict}, one name per line in order of first use.
+ * Text that is not an event, such as the header and footer an encoder writes when the file is
+ * opened and closed, has a record of its own that never matches. Records cover the text file
+ * contiguously from offset 0, which readers verify before trusting them.
+ *
+ * <p>Records are in write order, so their timestamps only ascend up to the small delay between
+ * an event being created and being written; a time window is located by binary search with
+ * {@link #MAX_WRITE_DELAY_MILLIS} of slack on both sides.
+ */
+public final class LogRecords {
+    public static final int RECORD_SIZE = 32;
+    public static final int OTHER_LEVEL = 5;
+    public static final int NOT_AN_EVENT = 6;
+    static final long MAX_WRITE_DELAY_MILLIS = 60_000;
+    private static final String RECORD_SUFFIX = ".rec";
+    private static final String DICTIONARY_SUFFIX = ".dict";
+    private static final int RECORDS_PER_READ = 64 * 1024;
+    private static final byte NO_LEVEL = -1;
+
+    private LogRecords() {
+    }
+
+    /**
+     * Byte ranges of the log file holding exactly the events that match, the number of those
+     * events, and the length of the log file prefix the records describe.
+     */
+    public record Scan(List<LogTimeIndex.Range> ranges, long events, long coveredLength) {
+    }
+
+    public static Path recordFile(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + RECORD_SUFFIX);
+    }
+
+    public static Path dictionaryFile(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + DICTIONARY_SUFFIX);
+    }
+
+    public static int levelOrdinal(String level) {
+        int index = LogTimeIndex.levelIndex(level);
+        return index < 0 ? OTHER_LEVEL : index;
+    }
+
+    /**
+     * Selects the events of {@code logFile} with the level whose time on {@code date} is in
+     * {@code [from, to)} using only the records; null arguments do not restrict. Only the records
+     * around the window are read. Returns null if the file has no records or the records read do
+     * not describe the text contiguously, in which case the text has to be scanned instead.
+     */
+    public static Scan scan(Path logFile, LocalDate date, LocalTime from, LocalTime to, String level,
+                            long textLength) throws IOException {
+        Path recordFile = recordFile(logFile);
+        if (!Files.exists(recordFile)) {
+            return null;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        long fromMillis = from == null ? Long.MIN_VALUE : date.atTime(from).atZone(zone).toInstant().toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : date.atTime(to).atZone(zone).toInstant().toEpochMilli();
+        byte wantedLevel = level == null ? NO_LEVEL : (byte) LogTimeIndex.levelIndex(level);
+        boolean unknownLevel = level != null && wantedLevel < 0;
+
+        List<LogTimeIndex.Range> ranges = new ArrayList<>();
+        long events = 0;
+        try (FileChannel channel = FileChannel.open(recordFile, StandardOpenOption.READ)) {
+            long count = channel.size() / RECORD_SIZE;
+            if (count == 0) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_READ * RECORD_SIZE);
+            long first = from == null ? 0
+                    : firstAtOrAfter(channel, count, fromMillis - MAX_WRITE_DELAY_MILLIS, buffer);
+            long expectedOffset = first == 0 ? 0 : recordEnd(channel, first - 1, buffer);
+            if (expectedOffset > textLength) {
+                // Everything on disk is before the window.
+                return new Scan(ranges, 0, coveredLength(channel, 0, count, textLength, 0));
+            }
+            long stopMillis = to == null ? Long.MAX_VALUE : toMillis + MAX_WRITE_DELAY_MILLIS;
+            long index = first - 1;
+            long position = first * RECORD_SIZE;
+            long end = count * RECORD_SIZE;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                position += buffer.limit();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int base = buffer.position();
+                    long timestamp = buffer.getLong(base);
+                    long offset = buffer.getLong(base + 8);
+                    int length = buffer.getInt(base + 16);
+                    byte recordLevel = buffer.get(base + 28);
+                    buffer.position(base + RECORD_SIZE);
+                    index++;
+                    if (offset != expectedOffset || length < 0) {
+                        return null;
+                    }
+                    if (offset + length > textLength) {
+                        // Recorded ahead of text that is not on disk yet.
+                        return new Scan(ranges, events, expectedOffset);
+                    }
+                    if (timestamp >= stopMillis) {
+                        return new Scan(ranges, events,
+                                        coveredLength(channel, index, count, textLength, expectedOffset));
+                    }
+                    expectedOffset = offset + length;
+                    if (recordLevel == NOT_AN_EVENT || unknownLevel
+                            || (wantedLevel >= 0 && recordLevel != wantedLevel)
+                            || timestamp < fromMillis || timestamp >= toMillis) {
+                        continue;
+                    }
+                    events++;
+                    LogTimeIndex.Range last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                    if (last != null && last.end() == offset) {
+                        ranges.set(ranges.size() - 1, new LogTimeIndex.Range(last.start(), offset + length));
+                    } else {
+                        ranges.add(new LogTimeIndex.Range(offset, offset + length));
+                    }
+                }
+            }
+            return new Scan(ranges, events, expectedOffset);
+        }
+    }
+
+    // The first record whose timestamp is at least millis, or count if there is none.
+    private static long firstAtOrAfter(FileChannel channel, long count, long millis, ByteBuffer buffer)
+            throws IOException {
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (readRecord(channel, middle, buffer).getLong(0) < millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // The end of the text described by the records from index on that is on disk, past the window
+    // and therefore not read one by one. Their offsets ascend, so it is found by binary search.
+    private static long coveredLength(FileChannel channel, long index, long count, long textLength, long start)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        long low = index;
+        long high = count;
+        long covered = start;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            long end = recordEnd(channel, middle, buffer);
+            if (end <= textLength) {
+                covered = Math.max(covered, end);
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return covered;
+    }
+
+    private static long recordEnd(FileChannel channel, long index, ByteBuffer buffer) throws IOException {
+        ByteBuffer record = readRecord(channel, index, buffer);
+        return record.getLong(8) + record.getInt(16);
+    }
+
+    private static ByteBuffer readRecord(FileChannel channel, long index, ByteBuffer buffer) throws IOException {
+        buffer.clear().limit(RECORD_SIZE);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, index * RECORD_SIZE + buffer.position()) < 0) {
+                throw new IOException("Log records truncated at record " + index);
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.javalabs.logs;
+
+import com.example.javalabs.models.LogTask;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of log export tasks with bounded lifetime. Finished tasks expire {@code ttl} after
+ * they finish; beyond {@code maxTasks} tasks or {@code maxBytes} of export files owned by
+ * tasks, the oldest finished tasks are dropped early. Pending and running tasks are never
+ * dropped. Removed tasks are handed back so the caller can delete their files.
+ */
+public class LogTaskStore {
+    private final ConcurrentHashMap<String, LogTask> tasks = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxTasks;
+    private final long maxBytes;
+
+    public LogTaskStore(Duration ttl, int maxTasks, long maxBytes) {
+        this.ttl = ttl;
+        this.maxTasks = maxTasks;
+        this.maxBytes = maxBytes;
+    }
+
+    public void put(LogTask task) {
+        tasks.put(task.getId(), task);
+    }
+
+    public LogTask get(String taskId) {
+        return taskId == null ? null : tasks.get(taskId);
+    }
+
+    public void remove(String taskId) {
+        tasks.remove(taskId);
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public long count(String status) {
+        return tasks.values().stream().filter(task -> status.equals(task.getStatus())).count();
+    }
+
+    public long ownedBytes() {
+        return tasks.values().stream().mapToLong(LogTask::getOwnedBytes).sum();
+    }
+
+    /**
+     * True if the store holds more tasks or bytes than it may; a sweep is due.
+     */
+    public boolean isOverLimit() {
+        return tasks.size() > maxTasks || ownedBytes() > maxBytes;
+    }
+
+    /**
+     * Removes expired tasks, then the oldest finished ones until the store is within its
+     * limits, and returns everything removed.
+     */
+    public synchronized List<LogTask> sweep(Instant now) {
+        List<LogTask> finished = new ArrayList<>();
+        List<LogTask> removed = new ArrayList<>();
+        long bytes = 0;
+        for (LogTask task : tasks.values()) {
+            bytes += task.getOwnedBytes();
+            Instant finishedAt = task.getFinishedAt();
+            if (finishedAt == null) {
+                continue;
+            }
+            if (!finishedAt.plus(ttl).isAfter(now)) {
+                removed.add(task);
+            } else {
+                finished.add(task);
+            }
+        }
+        int count = tasks.size();
+        for (LogTask task : removed) {
+            tasks.remove(task.getId(), task);
+            count--;
+            bytes -= task.getOwnedBytes();
+        }
+        finished.sort(Comparator.comparing(LogTask::getFinishedAt));
+        for (LogTask task : finished) {
+            if (count <= maxTasks && bytes <= maxBytes) {
+                break;
+            }
+            tasks.remove(task.getId(), task);
+            removed.add(task);
+            count--;
+            bytes -= task.getOwnedBytes();
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.javalabs.logs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-minute byte offsets and per-level line counts for one daily log file.
+ *
+ * <p>The index covers the file up to {@link #indexedLength()}, always a line boundary, and is
+ * extended by {@link #update(FileChannel)} which only scans the bytes appended since the last
+ * call. Lines are assigned to the minute of their timestamp; untimestamped lines such as stack
+ * traces, and lines written slightly out of order, stay in the bucket of the line before them,
+ * so bucket offsets never decrease.
+ */
+public class LogTimeIndex {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final String[] LEVELS = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR"};
+    private static final int OTHER = LEVELS.length;
+    private static final byte[][] LEVEL_BYTES = Arrays.stream(LEVELS).map(LogFilter::ascii).toArray(byte[][]::new);
+
+    private static final int MAGIC = 0x4C4F4749;
+    private static final int VERSION = 1;
+    private static final int SCAN_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final long[] minuteStart = new long[MINUTES_PER_DAY];
+    private final int[][] levelCounts = new int[LEVELS.length + 1][MINUTES_PER_DAY];
+    private long indexedLength;
+    private int currentMinute = -1;
+
+    public record Range(long start, long end) {
+    }
+
+    public LogTimeIndex() {
+        Arrays.fill(minuteStart, -1);
+    }
+
+    public synchronized long indexedLength() {
+        return indexedLength;
+    }
+
+    /**
+     * Indexes the complete lines appended to the file since the last update. A file that shrank
+     * was replaced and is indexed from scratch. Returns true if the index changed.
+     */
+    public synchronized boolean update(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < indexedLength) {
+            reset();
+        }
+        long start = indexedLength;
+        int chunkSize = SCAN_CHUNK_SIZE;
+        while (indexedLength < size) {
+            long length = Math.min(chunkSize, size - indexedLength);
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, indexedLength, length);
+            int consumed = indexLines(chunk, indexedLength);
+            if (consumed == 0) {
+                if (indexedLength + length == size) {
+                    break;
+                }
+                // A single line longer than the chunk; retry with a larger window.
+                chunkSize *= 2;
+                continue;
+            }
+            indexedLength += consumed;
+        }
+        return indexedLength != start;
+    }
+
+    /**
+     * Byte ranges that can contain lines in {@code [from, to)} with the given level; null bounds
+     * and a null level do not restrict. Unknown levels only narrow by time.
+     */
+    public synchronized List<Range> ranges(LocalTime from, LocalTime to, String level) {
+        int firstMinute = from == null ? 0 : from.getHour() * 60 + from.getMinute();
+        if (to != null && to.equals(LocalTime.MIDNIGHT)) {
+            return List.of();
+        }
+        LocalTime lastInstant = to == null ? null : to.minusNanos(1);
+        int lastMinute = lastInstant == null ? MINUTES_PER_DAY - 1
+                : lastInstant.getHour() * 60 + lastInstant.getMinute();
+        int levelIndex = levelIndex(level);
+
+        List<Range> ranges = new ArrayList<>();
+        for (int minute = firstMinute; minute <= lastMinute; minute++) {
+            if (minuteStart[minute] < 0 || (levelIndex >= 0 && levelCounts[levelIndex][minute] == 0)) {
+                continue;
+            }
+            long start = minuteStart[minute];
+            long end = bucketEnd(minute);
+            Range last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last.end() == start) {
+                ranges.set(ranges.size() - 1, new Range(last.start(), end));
+            } else {
+                ranges.add(new Range(start, end));
+            }
+        }
+        return ranges;
+    }
+
+    public synchronized void writeTo(Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(indexedLength);
+            out.writeInt(currentMinute);
+            for (long offset : minuteStart) {
+                out.writeLong(offset);
+            }
+            for (int[] counts : levelCounts) {
+                for (int count : counts) {
+                    out.writeInt(count);
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(Path)}; returns an empty index if the file is
+     * missing or was written by another version.
+     */
+    public static LogTimeIndex readFrom(Path source) throws IOException {
+        LogTimeIndex index = new LogTimeIndex();
+        if (!Files.exists(source)) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return index;
+            }
+            index.indexedLength = in.readLong();
+            index.currentMinute = in.readInt();
+            for (int i = 0; i < MINUTES_PER_DAY; i++) {
+                index.minuteStart[i] = in.readLong();
+            }
+            for (int[] counts : index.levelCounts) {
+                for (int i = 0; i < MINUTES_PER_DAY; i++) {
+                    counts[i] = in.readInt();
+                }
+            }
+        }
+        return index;
+    }
+
+    static int levelIndex(String level) {
+        if (level == null) {
+            return -1;
+        }
+        String normalized = level.trim().toUpperCase();
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the number of bytes of complete lines indexed from the chunk.
+    private int indexLines(ByteBuffer chunk, long chunkOffset) {
+        int limit = chunk.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int newline = lineStart;
+            while (newline < limit && chunk.get(newline) != '\n') {
+                newline++;
+            }
+            if (newline == limit) {
+                break;
+            }
+            indexLine(chunk, lineStart, newline, chunkOffset + lineStart);
+            lineStart = newline + 1;
+        }
+        return lineStart;
+    }
+
+    private void indexLine(ByteBuffer chunk, int start, int end, long offset) {
+        boolean timestamped = LogFilter.isTimestamped(chunk, start, end);
+        int minute = Math.max(currentMinute, 0);
+        if (timestamped) {
+            int hour = digits(chunk, start + 11);
+            int minuteOfHour = digits(chunk, start + 14);
+            if (hour >= 0 && hour < 24 && minuteOfHour >= 0 && minuteOfHour < 60) {
+                minute = Math.max(minute, hour * 60 + minuteOfHour);
+            }
+        }
+        currentMinute = minute;
+        if (minuteStart[minute] < 0) {
+            minuteStart[minute] = offset;
+        }
+        levelCounts[timestamped ? levelOf(chunk, start, end) : OTHER][minute]++;
+    }
+
+    private static int levelOf(ByteBuffer chunk, int start, int end) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LogFilter.levelEquals(chunk, start, end, LEVEL_BYTES[i])) {
+                return i;
+            }
+        }
+        return OTHER;
+    }
+
+    private static int digits(ByteBuffer chunk, int position) {
+        int tens = chunk.get(position) - '0';
+        int ones = chunk.get(position + 1) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return -1;
+        }
+        return tens * 10 + ones;
+    }
+
+    private long bucketEnd(int minute) {
+        for (int next = minute + 1; next < MINUTES_PER_DAY; next++) {
+            if (minuteStart[next] >= 0) {
+                return minuteStart[next];
+            }
+        }
+        return indexedLength;
+    }
+
+    private void reset() {
+        Arrays.fill(minuteStart, -1);
+        for (int[] counts : levelCounts) {
+            Arrays.fill(counts, 0);
+        }
+        indexedLength = 0;
+        currentMinute = -1;
+    }
+}
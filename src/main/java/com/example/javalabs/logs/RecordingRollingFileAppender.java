@@ -0,0 +1,223 @@
+package com.example.javalabs.logs;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link RollingFileAppender} that also writes the {@link LogRecords} sidecar of the active
+ * file: for each event its timestamp, level, logger, thread and where its text landed in the
+ * file. Offsets are counted from the bytes the encoder produced, so they do not depend on when
+ * the output stream is flushed. The encoder's header and footer get records of their own, so
+ * the records cover every byte of the file, including across restarts that append to it.
+ *
+ * <p>After a rollover, sidecars whose log file and archive are both gone are deleted.
+ * Sidecar I/O errors are reported to the logback status manager and stop the recording for
+ * the current file only; the text log is unaffected and readers fall back to scanning it.
+ */
+public class RecordingRollingFileAppender extends RollingFileAppender<ILoggingEvent> {
+    private final ReentrantLock recordLock = new ReentrantLock();
+    private CountingEncoder countingEncoder;
+    private LogRecordWriter records;
+    private long position;
+
+    @Override
+    public void start() {
+        if (getEncoder() != null && !(getEncoder() instanceof CountingEncoder)) {
+            countingEncoder = new CountingEncoder(getEncoder());
+            countingEncoder.setContext(getContext());
+            countingEncoder.start();
+            setEncoder(countingEncoder);
+        }
+        super.start();
+        if (isStarted()) {
+            recordLock.lock();
+            try {
+                openRecords();
+            } finally {
+                recordLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        recordLock.lock();
+        try {
+            resetEncodedLengths();
+            super.stop();
+            recordFooter();
+            closeRecords();
+        } finally {
+            recordLock.unlock();
+        }
+    }
+
+    // Closing the old file writes its footer and opening the new one its header.
+    @Override
+    public void rollover() {
+        recordLock.lock();
+        try {
+            resetEncodedLengths();
+            super.rollover();
+            recordFooter();
+            closeRecords();
+            openRecords();
+        } finally {
+            recordLock.unlock();
+        }
+        deleteOrphanedSidecars(Path.of(getFile()).toAbsolutePath().getParent());
+    }
+
+    // Serialized so the offset of each event matches the order its bytes were written in.
+    @Override
+    protected void subAppend(ILoggingEvent event) {
+        if (countingEncoder == null) {
+            super.subAppend(event);
+            return;
+        }
+        recordLock.lock();
+        try {
+            countingEncoder.lastLength = -1;
+            super.subAppend(event);
+            int length = countingEncoder.lastLength;
+            if (length < 0 || records == null) {
+                return;
+            }
+            try {
+                records.append(event.getTimeStamp(), position, length, event.getLevel().toString(),
+                               event.getLoggerName(), event.getThreadName());
+            } catch (IOException e) {
+                addError("Could not write log record for " + getFile() + ", recording stopped", e);
+                closeRecords();
+            }
+            position += length;
+        } finally {
+            recordLock.unlock();
+        }
+    }
+
+    // The header was written when the file was opened, at its end; it is flushed first so the
+    // size of the file includes it.
+    private void openRecords() {
+        Path logFile = Path.of(getFile());
+        try {
+            if (getOutputStream() != null) {
+                getOutputStream().flush();
+            }
+            position = Files.exists(logFile) ? Files.size(logFile) : 0;
+            records = LogRecordWriter.open(logFile);
+            int header = countingEncoder == null ? 0 : countingEncoder.headerLength;
+            if (header > 0) {
+                records.appendText(System.currentTimeMillis(), position - header, header);
+            }
+        } catch (IOException e) {
+            addError("Could not open log records for " + logFile, e);
+            closeRecords();
+        }
+    }
+
+    private void recordFooter() {
+        int footer = countingEncoder == null ? 0 : countingEncoder.footerLength;
+        if (footer <= 0 || records == null) {
+            return;
+        }
+        try {
+            records.appendText(System.currentTimeMillis(), position, footer);
+            position += footer;
+        } catch (IOException e) {
+            addWarn("Could not record the footer of " + getFile(), e);
+        }
+    }
+
+    private void resetEncodedLengths() {
+        if (countingEncoder != null) {
+            countingEncoder.headerLength = 0;
+            countingEncoder.footerLength = 0;
+        }
+    }
+
+    // Records, dictionaries and time indexes outlive the compression of their log file, which
+    // still uses them, but not the removal of its archive by the history limit.
+    private void deleteOrphanedSidecars(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.log.{rec,dict,idx}")) {
+            for (Path sidecar : files) {
+                String name = sidecar.getFileName().toString();
+                Path logFile = sidecar.resolveSibling(name.substring(0, name.lastIndexOf('.')));
+                if (!Files.exists(logFile) && !Files.exists(logFile.resolveSibling(logFile.getFileName() + ".gz"))) {
+                    Files.deleteIfExists(sidecar);
+                }
+            }
+        } catch (IOException e) {
+            addWarn("Could not remove old log records in " + directory, e);
+        }
+    }
+
+    private void closeRecords() {
+        if (records == null) {
+            return;
+        }
+        try {
+            records.close();
+        } catch (IOException e) {
+            addWarn("Could not close log records for " + getFile(), e);
+        }
+        records = null;
+    }
+
+    // Remembers the size of the last encoded event, header and footer.
+    private static final class CountingEncoder extends EncoderBase<ILoggingEvent> {
+        private final Encoder<ILoggingEvent> delegate;
+        private int lastLength = -1;
+        private int headerLength;
+        private int footerLength;
+
+        CountingEncoder(Encoder<ILoggingEvent> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public byte[] headerBytes() {
+            byte[] bytes = delegate.headerBytes();
+            headerLength = bytes == null ? 0 : bytes.length;
+            return bytes;
+        }
+
+        @Override
+        public byte[] encode(ILoggingEvent event) {
+            byte[] bytes = delegate.encode(event);
+            lastLength = bytes == null ? 0 : bytes.length;
+            return bytes;
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            byte[] bytes = delegate.footerBytes();
+            footerLength = bytes == null ? 0 : bytes.length;
+            return bytes;
+        }
+
+        @Override
+        public void start() {
+            if (!delegate.isStarted()) {
+                delegate.start();
+            }
+            super.start();
+        }
+
+        @Override
+        public void stop() {
+            delegate.stop();
+            super.stop();
+        }
+    }
+}
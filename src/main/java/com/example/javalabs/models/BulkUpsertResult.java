@@ -0,0 +1,18 @@
+package com.example.javalabs.models;
+
+import java.util.List;
+
+public record BulkUpsertResult(int received,
+                               int inserted,
+                               int updated,
+                               int skipped,
+                               long totalMillis,
+                               List<ChunkResult> chunks) {
+
+    public record ChunkResult(int index, int size, int inserted, int updated, long millis) {
+    }
+
+    public static BulkUpsertResult empty() {
+        return new BulkUpsertResult(0, 0, 0, 0, 0, List.of());
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -29,7 +30,11 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "freelancers")
+@Table(name = "freelancers", indexes = {
+        @Index(name = "idx_freelancers_category_rating", columnList = "category, rating"),
+        @Index(name = "idx_freelancers_category_hourly_rate", columnList = "category, hourly_rate"),
+        @Index(name = "idx_freelancers_name_category", columnList = "name, category")
+})
 public class Freelancer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,7 +62,8 @@ public class Freelancer {
     @JoinTable(
             name = "freelancer_skills",
             joinColumns = @JoinColumn(name = "freelancer_id"),
-            inverseJoinColumns = @JoinColumn(name = "skill_id")
+            inverseJoinColumns = @JoinColumn(name = "skill_id"),
+            indexes = @Index(name = "idx_freelancer_skills_skill_freelancer", columnList = "skill_id, freelancer_id")
     )
     private Set<Skill> skills;
 
@@ -0,0 +1,6 @@
+package com.example.javalabs.models;
+
+import java.util.List;
+
+public record FreelancerPage(List<FreelancerSnapshot> items, Long nextAfterId) {
+}
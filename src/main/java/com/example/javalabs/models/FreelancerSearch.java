@@ -0,0 +1,70 @@
+package com.example.javalabs.models;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Normalized freelancer search: skills are trimmed, de-duplicated and sorted and blank values
+ * become null, so equivalent requests compare equal and share one cache entry. A null limit
+ * means no limit.
+ */
+public record FreelancerSearch(String category,
+                               List<String> skills,
+                               SkillMatch skillMatch,
+                               Double minRating,
+                               Double maxRating,
+                               Double minHourlyRate,
+                               Double maxHourlyRate,
+                               SortField sort,
+                               SortDirection direction,
+                               Integer limit) {
+
+    public enum SkillMatch { ALL, ANY }
+
+    public enum SortField { ID, RATING, RATE }
+
+    public enum SortDirection { ASC, DESC }
+
+    public FreelancerSearch {
+        category = blankToNull(category);
+        TreeSet<String> names = new TreeSet<>();
+        if (skills != null) {
+            skills.stream().map(FreelancerSearch::blankToNull).filter(Objects::nonNull).forEach(names::add);
+        }
+        skills = List.copyOf(names);
+        // With at most one skill ALL and ANY are the same query.
+        skillMatch = skills.size() > 1 && skillMatch == SkillMatch.ANY ? SkillMatch.ANY : SkillMatch.ALL;
+        sort = sort == null ? SortField.ID : sort;
+        direction = direction == null ? SortDirection.ASC : direction;
+    }
+
+    /**
+     * The unfiltered listing served by GET /api/freelancers.
+     */
+    public static FreelancerSearch listing(String category, String skillName) {
+        return new FreelancerSearch(category, skillName == null ? List.of() : List.of(skillName), null,
+                                    null, null, null, null, null, null, null);
+    }
+
+    public String cacheKey() {
+        return (category != null ? category : "null") + "_" + (skills.isEmpty() ? "null" : String.join(",", skills))
+                + (skills.size() > 1 ? "|" + skillMatch : "")
+                + (hasRanges() || limit != null || sort != SortField.ID || direction != SortDirection.ASC
+                   ? "|" + minRating + ".." + maxRating + "|" + minHourlyRate + ".." + maxHourlyRate
+                     + "|" + sort + "|" + direction + "|" + limit
+                   : "");
+    }
+
+    private boolean hasRanges() {
+        return minRating != null || maxRating != null || minHourlyRate != null || maxHourlyRate != null;
+    }
+
+    private static String blankToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.javalabs.models;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record FreelancerSnapshot(Long id,
+                                 String name,
+                                 String category,
+                                 Double rating,
+                                 Double hourlyRate,
+                                 List<SkillSummary> skills,
+                                 List<OrderSummary> orders) {
+
+    public record SkillSummary(Long id, String name) {
+    }
+
+    public record OrderSummary(Long id, String description, double price) {
+    }
+
+    public FreelancerSnapshot {
+        skills = skills == null ? List.of() : List.copyOf(skills);
+        orders = orders == null ? List.of() : List.copyOf(orders);
+    }
+
+    public static FreelancerSnapshot from(Freelancer freelancer) {
+        List<SkillSummary> skills = freelancer.getSkills() == null ? List.of() : freelancer.getSkills().stream()
+                .map(skill -> new SkillSummary(skill.getId(), skill.getName()))
+                .sorted(Comparator.comparing(SkillSummary::id, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        List<OrderSummary> orders = freelancer.getOrders() == null ? List.of() : freelancer.getOrders().stream()
+                .map(order -> new OrderSummary(order.getId(), order.getDescription(), order.getPrice()))
+                .toList();
+        return new FreelancerSnapshot(freelancer.getId(), freelancer.getName(), freelancer.getCategory(),
+                                      freelancer.getRating(), freelancer.getHourlyRate(), skills, orders);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.javalabs.models;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Data;
+
+@Data
+public class ImportTask {
+    private String id;
+    private String format;
+    private volatile String status; // PENDING, RUNNING, COMPLETED, FAILED
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong recordsPersisted = new AtomicLong();
+    private final AtomicLong recordsRejected = new AtomicLong();
+    private final AtomicLong batchesPersisted = new AtomicLong();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    private volatile String errorMessage;
+    private volatile Instant finishedAt;
+}
@@ -1,13 +1,23 @@
 package com.example.javalabs.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
 
 @Data
 public class LogTask {
     private String id;
-    private String status; // PENDING, COMPLETED, FAILED
-    private Path logFile;
-    private String errorMessage;
-}
\ No newline at end of file
+    private volatile String status; // PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+    private volatile Path logFile;
+    private volatile String errorMessage;
+    private final Instant createdAt = Instant.now();
+    private volatile Instant finishedAt;
+    // Size of the export file this task alone is responsible for deleting; 0 if shared.
+    @JsonIgnore
+    private volatile long ownedBytes;
+    @JsonIgnore
+    private volatile Future<?> future;
+}
@@ -0,0 +1,43 @@
+package com.example.javalabs.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The persisted visit total of one route template. Only mapped so the schema gets the table;
+ * rows are read and written by {@link com.example.javalabs.repositories.VisitCounterJdbcRepository}.
+ */
+@Entity
+@Table(name = "visit_counters")
+public class VisitCounter {
+    @Id
+    private String route;
+
+    @Column(nullable = false)
+    private long visits;
+
+    public VisitCounter() {}
+
+    public VisitCounter(String route, long visits) {
+        this.route = route;
+        this.visits = visits;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public long getVisits() {
+        return visits;
+    }
+
+    public void setVisits(long visits) {
+        this.visits = visits;
+    }
+}
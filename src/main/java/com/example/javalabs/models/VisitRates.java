@@ -0,0 +1,8 @@
+package com.example.javalabs.models;
+
+/**
+ * Lifetime visits of a route and its average visits per second over the last 1, 5 and 15
+ * minutes.
+ */
+public record VisitRates(long total, double oneMinuteRate, double fiveMinuteRate, double fifteenMinuteRate) {
+}
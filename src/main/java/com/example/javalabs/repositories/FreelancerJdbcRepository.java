@@ -0,0 +1,221 @@
+package com.example.javalabs.repositories;
+
+import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerSearch;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class FreelancerJdbcRepository {
+    private static final String INSERT_FREELANCER =
+            "INSERT INTO freelancers (name, category, rating, hourly_rate) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_FREELANCER =
+            "UPDATE freelancers SET name = ?, category = ?, rating = ?, hourly_rate = ? WHERE id = ?";
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (description, price, freelancer_id) VALUES (?, ?, ?)";
+    private static final String INSERT_SKILL_LINK =
+            "INSERT INTO freelancer_skills (freelancer_id, skill_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NaturalKey(String name, String category) {
+        public static NaturalKey of(Freelancer freelancer) {
+            return new NaturalKey(freelancer.getName(), freelancer.getCategory());
+        }
+    }
+
+    public record OrderRow(Long freelancerId, String description, double price) {
+    }
+
+    public record SkillLink(Long freelancerId, Long skillId) {
+    }
+
+    public FreelancerJdbcRepository(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.jdbcTemplate = namedJdbcTemplate.getJdbcTemplate();
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT id FROM freelancers WHERE id IN (:ids)", Map.of("ids", ids), Long.class));
+    }
+
+    /**
+     * Resolves (name, category) pairs to existing freelancer IDs. When the table holds
+     * duplicates of a pair, the lowest ID wins. Both columns are filtered so the lookup uses the
+     * (name, category) index; name/category combinations that were not asked for are dropped.
+     */
+    public Map<NaturalKey, Long> findIdsByNaturalKeys(Collection<NaturalKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> names = new HashSet<>();
+        Set<String> categories = new HashSet<>();
+        for (NaturalKey key : keys) {
+            names.add(key.name());
+            categories.add(key.category());
+        }
+        Map<NaturalKey, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, name, category FROM freelancers "
+                                + "WHERE name IN (:names) AND category IN (:categories) ORDER BY id",
+                                Map.of("names", names, "categories", categories),
+                                rs -> {
+                                    NaturalKey key = new NaturalKey(rs.getString("name"), rs.getString("category"));
+                                    if (keys.contains(key)) {
+                                        ids.putIfAbsent(key, rs.getLong("id"));
+                                    }
+                                });
+        return ids;
+    }
+
+    public void batchUpdate(List<Freelancer> freelancers) {
+        if (freelancers.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_FREELANCER, freelancerSetter(freelancers, true));
+    }
+
+    /**
+     * Inserts the freelancers in one JDBC batch and returns the generated IDs in input order.
+     */
+    public List<Long> batchInsert(List<Freelancer> freelancers) {
+        if (freelancers.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_FREELANCER, new String[] {"id"}),
+                                 freelancerSetter(freelancers, false), keyHolder);
+        List<Long> ids = new ArrayList<>(freelancers.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.get("id")).longValue());
+        }
+        return ids;
+    }
+
+    public void batchInsertOrders(List<OrderRow> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(orders.size());
+        for (OrderRow order : orders) {
+            args.add(new Object[] {order.description(), order.price(), order.freelancerId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, args, new int[] {Types.VARCHAR, Types.DOUBLE, Types.BIGINT});
+    }
+
+    public void batchInsertSkillLinks(List<SkillLink> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(links.size());
+        for (SkillLink link : links) {
+            args.add(new Object[] {link.freelancerId(), link.skillId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SKILL_LINK, args, new int[] {Types.BIGINT, Types.BIGINT});
+    }
+
+    /**
+     * Returns the IDs matching the search in its sort order. Category and range predicates use
+     * the (category, rating) and (category, hourly_rate) indexes; skill predicates go through
+     * the unique skill name and the (skill_id, freelancer_id) link index.
+     */
+    public List<Long> searchIds(FreelancerSearch search) {
+        StringBuilder sql = new StringBuilder("SELECT f.id FROM freelancers f WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (search.category() != null) {
+            sql.append(" AND f.category = :category");
+            params.addValue("category", search.category());
+        }
+        appendRange(sql, params, "f.rating", "Rating", search.minRating(), search.maxRating());
+        appendRange(sql, params, "f.hourly_rate", "Rate", search.minHourlyRate(), search.maxHourlyRate());
+        if (!search.skills().isEmpty()) {
+            params.addValue("skills", search.skills());
+            if (search.skillMatch() == FreelancerSearch.SkillMatch.ANY) {
+                sql.append(" AND EXISTS (SELECT 1 FROM freelancer_skills fs JOIN skills s ON s.id = fs.skill_id")
+                        .append(" WHERE fs.freelancer_id = f.id AND s.name IN (:skills))");
+            } else {
+                sql.append(" AND f.id IN (SELECT fs.freelancer_id FROM freelancer_skills fs")
+                        .append(" JOIN skills s ON s.id = fs.skill_id WHERE s.name IN (:skills)")
+                        .append(" GROUP BY fs.freelancer_id HAVING COUNT(DISTINCT s.id) = :skillCount)");
+                params.addValue("skillCount", search.skills().size());
+            }
+        }
+        String direction = search.direction() == FreelancerSearch.SortDirection.DESC ? " DESC" : " ASC";
+        switch (search.sort()) {
+            case RATING -> sql.append(" ORDER BY f.rating").append(direction).append(" NULLS LAST, f.id");
+            case RATE -> sql.append(" ORDER BY f.hourly_rate").append(direction).append(" NULLS LAST, f.id");
+            default -> sql.append(" ORDER BY f.id").append(direction);
+        }
+        if (search.limit() != null) {
+            sql.append(" LIMIT :limit");
+            params.addValue("limit", search.limit());
+        }
+        return namedJdbcTemplate.queryForList(sql.toString(), params, Long.class);
+    }
+
+    private static void appendRange(StringBuilder sql, MapSqlParameterSource params, String column,
+                                    String name, Double min, Double max) {
+        if (min != null) {
+            sql.append(" AND ").append(column).append(" >= :min").append(name);
+            params.addValue("min" + name, min);
+        }
+        if (max != null) {
+            sql.append(" AND ").append(column).append(" <= :max").append(name);
+            params.addValue("max" + name, max);
+        }
+    }
+
+    public void forEachCategory(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("SELECT id, category FROM freelancers", rs -> {
+            consumer.accept(rs.getLong("id"), rs.getString("category"));
+        });
+    }
+
+    public void forEachSkillName(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("SELECT fs.freelancer_id, s.name FROM freelancer_skills fs " +
+                           "JOIN skills s ON s.id = fs.skill_id", rs -> {
+            consumer.accept(rs.getLong("freelancer_id"), rs.getString("name"));
+        });
+    }
+
+    private static BatchPreparedStatementSetter freelancerSetter(List<Freelancer> freelancers, boolean withId) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Freelancer freelancer = freelancers.get(i);
+                ps.setString(1, freelancer.getName());
+                ps.setString(2, freelancer.getCategory());
+                ps.setObject(3, freelancer.getRating(), Types.DOUBLE);
+                ps.setObject(4, freelancer.getHourlyRate(), Types.DOUBLE);
+                if (withId) {
+                    ps.setLong(5, freelancer.getId());
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return freelancers.size();
+            }
+        };
+    }
+}
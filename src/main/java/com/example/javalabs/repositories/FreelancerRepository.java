@@ -1,16 +1,72 @@
 package com.example.javalabs.repositories;
 
 import com.example.javalabs.models.Freelancer;
+import jakarta.persistence.QueryHint;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface FreelancerRepository extends JpaRepository<Freelancer, Long> {
-    @Query("SELECT DISTINCT f FROM Freelancer f " +
+    int ID_BATCH_SIZE = 1000;
+
+    @Query("SELECT DISTINCT f.id FROM Freelancer f " +
+            "LEFT JOIN f.skills s " +
+            "WHERE (:category IS NULL OR f.category = :category) " +
+            "AND (:skillName IS NULL OR s.name = :skillName) " +
+            "ORDER BY f.id")
+    List<Long> findIdsByCategoryAndSkill(@Param("category") String category,
+                                         @Param("skillName") String skillName);
+
+    @Query("SELECT DISTINCT f.id FROM Freelancer f " +
             "LEFT JOIN f.skills s " +
             "WHERE (:category IS NULL OR f.category = :category) " +
-            "AND (:skillName IS NULL OR s.name = :skillName)")
-    List<Freelancer> findByCategoryAndSkill(@Param("category") String category,
-                                            @Param("skillName") String skillName);
-}
\ No newline at end of file
+            "AND (:skillName IS NULL OR s.name = :skillName) " +
+            "AND (:afterId IS NULL OR f.id > :afterId) " +
+            "ORDER BY f.id")
+    List<Long> findIdsPage(@Param("category") String category,
+                           @Param("skillName") String skillName,
+                           @Param("afterId") Long afterId,
+                           Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ID_BATCH_SIZE))
+    @Query("SELECT DISTINCT f.id FROM Freelancer f " +
+            "LEFT JOIN f.skills s " +
+            "WHERE (:category IS NULL OR f.category = :category) " +
+            "AND (:skillName IS NULL OR s.name = :skillName) " +
+            "ORDER BY f.id")
+    Stream<Long> streamIdsByCategoryAndSkill(@Param("category") String category,
+                                             @Param("skillName") String skillName);
+
+    @EntityGraph(attributePaths = "skills")
+    @Query("SELECT DISTINCT f FROM Freelancer f WHERE f.id IN :ids ORDER BY f.id")
+    List<Freelancer> findAllWithSkillsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT f FROM Freelancer f LEFT JOIN FETCH f.orders WHERE f.id IN :ids")
+    List<Freelancer> fetchOrdersByIdIn(@Param("ids") Collection<Long> ids);
+
+    default List<Freelancer> findByCategoryAndSkill(String category, String skillName) {
+        return findAllWithCollectionsByIdIn(findIdsByCategoryAndSkill(category, skillName));
+    }
+
+    // Two-phase load: the matching IDs first, then skills and orders for each batch of IDs.
+    // Skills and orders are fetched by separate queries because joining two collections in
+    // one query would multiply the rows. Must run inside a transaction so the second query
+    // initializes the orders of the instances returned by the first.
+    default List<Freelancer> findAllWithCollectionsByIdIn(List<Long> ids) {
+        List<Freelancer> freelancers = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + ID_BATCH_SIZE));
+            freelancers.addAll(findAllWithSkillsByIdIn(batch));
+            fetchOrdersByIdIn(batch);
+        }
+        return freelancers;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.javalabs.repositories;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SkillJdbcRepository {
+    // Inserts the missing names and returns (id, name) for every requested name in one round
+    // trip. Rows committed concurrently by another transaction are invisible to this statement's
+    // snapshot, so callers look those up again.
+    private static final String INSERT_OR_GET =
+            "WITH input(name) AS (SELECT DISTINCT unnest(?::text[])), " +
+            "inserted AS (INSERT INTO skills (name) SELECT name FROM input " +
+            "ON CONFLICT (name) DO NOTHING RETURNING id, name) " +
+            "SELECT id, name FROM inserted " +
+            "UNION ALL " +
+            "SELECT s.id, s.name FROM skills s JOIN input i ON s.name = i.name";
+    private static final String FIND_BY_NAMES = "SELECT id, name FROM skills WHERE name = ANY(?::text[])";
+    // Every skill whose name also belongs to a skill with a lower ID, with that lowest ID.
+    private static final String DUPLICATES =
+            "(SELECT id, keep_id FROM (SELECT id, MIN(id) OVER (PARTITION BY name) AS keep_id " +
+            "FROM skills WHERE name IS NOT NULL) ranked WHERE id <> keep_id) d";
+    private static final String NAME_CONSTRAINT = "uk_skills_name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SkillJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<String, Long> findAllIds() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM skills", rs -> {
+            ids.put(rs.getString("name"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    public Map<String, Long> insertOrGet(Set<String> names) {
+        Map<String, Long> ids = queryByNames(INSERT_OR_GET, names);
+        if (ids.size() < names.size()) {
+            for (Map.Entry<String, Long> entry : queryByNames(FIND_BY_NAMES, names).entrySet()) {
+                ids.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Merges skills sharing a name into the one with the lowest ID, moving their freelancer
+     * links to it, and adds the unique constraint on {@code skills.name} if it is missing.
+     * Schema updates cannot add the constraint while duplicates exist, and insert-or-get needs
+     * it. Returns the number of duplicate skills removed.
+     */
+    public int mergeDuplicateNames() {
+        jdbcTemplate.update("INSERT INTO freelancer_skills (freelancer_id, skill_id) " +
+                            "SELECT fs.freelancer_id, d.keep_id FROM freelancer_skills fs, " + DUPLICATES +
+                            " WHERE fs.skill_id = d.id ON CONFLICT DO NOTHING");
+        jdbcTemplate.update("DELETE FROM freelancer_skills fs USING " + DUPLICATES + " WHERE fs.skill_id = d.id");
+        int removed = jdbcTemplate.update("DELETE FROM skills s USING " + DUPLICATES + " WHERE s.id = d.id");
+        Integer constraints = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, NAME_CONSTRAINT);
+        if (constraints == null || constraints == 0) {
+            jdbcTemplate.execute("ALTER TABLE skills ADD CONSTRAINT " + NAME_CONSTRAINT + " UNIQUE (name)");
+        }
+        return removed;
+    }
+
+    private Map<String, Long> queryByNames(String sql, Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            Array array = con.createArrayOf("text", names.toArray());
+            ps.setArray(1, array);
+            return ps;
+        }, rs -> {
+            ids.put(rs.getString("name"), rs.getLong("id"));
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.javalabs.repositories;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class VisitCounterJdbcRepository {
+    // Adds every delta to its route's total in one statement, creating missing rows.
+    private static final String ADD_VISITS =
+            "INSERT INTO visit_counters (route, visits) SELECT * FROM unnest(?::text[], ?::bigint[]) " +
+            "ON CONFLICT (route) DO UPDATE SET visits = visit_counters.visits + EXCLUDED.visits";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VisitCounterJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<String, Long> findAll() {
+        Map<String, Long> visits = new HashMap<>();
+        jdbcTemplate.query("SELECT route, visits FROM visit_counters", rs -> {
+            visits.put(rs.getString("route"), rs.getLong("visits"));
+        });
+        return visits;
+    }
+
+    public void addVisits(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String[] routes = deltas.keySet().toArray(String[]::new);
+        Long[] counts = new Long[routes.length];
+        for (int i = 0; i < routes.length; i++) {
+            counts[i] = deltas.get(routes[i]);
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(ADD_VISITS);
+            Array routeArray = con.createArrayOf("text", routes);
+            Array countArray = con.createArrayOf("bigint", counts);
+            ps.setArray(1, routeArray);
+            ps.setArray(2, countArray);
+            return ps;
+        });
+    }
+}
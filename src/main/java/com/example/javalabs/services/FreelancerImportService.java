@@ -0,0 +1,245 @@
+package com.example.javalabs.services;
+
+import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.ImportTask;
+import com.example.javalabs.services.impl.FreelancerService;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FreelancerImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreelancerImportService.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 2;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<Freelancer> END_OF_INPUT = List.of();
+
+    public enum Format { NDJSON, CSV }
+
+    private final FreelancerService freelancerService;
+    private final Validator validator;
+    private final Executor importExecutor;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final ConcurrentHashMap<String, ImportTask> tasks = new ConcurrentHashMap<>();
+    private final Semaphore importSlots;
+    private final Duration taskTtl;
+    private final int maxTasks;
+
+    public FreelancerImportService(FreelancerService freelancerService,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier("importExecutor") Executor importExecutor,
+                                   @Value("${imports.max-concurrent:2}") int maxConcurrentImports,
+                                   @Value("${imports.tasks.ttl:PT1H}") Duration taskTtl,
+                                   @Value("${imports.tasks.max-tasks:1000}") int maxTasks) {
+        this.freelancerService = freelancerService;
+        this.validator = validator;
+        this.importExecutor = importExecutor;
+        this.importSlots = new Semaphore(maxConcurrentImports);
+        this.taskTtl = taskTtl;
+        this.maxTasks = maxTasks;
+        this.ndjsonReader = objectMapper.readerFor(Freelancer.class);
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .readerFor(Freelancer.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Parses and validates the body on the calling thread while a background worker persists
+     * full batches. The queue between them is bounded, so at most a few batches are in memory
+     * and a slow database pushes back on the parser. Returns once the body is consumed; the
+     * remaining batches keep persisting in the background.
+     *
+     * <p>An import is only accepted while fewer than {@code imports.max-concurrent} imports
+     * are running, so its worker starts at once; otherwise {@link TaskRejectedException}
+     * (HTTP 429) is thrown instead of leaving the request thread blocked on a queue no worker
+     * drains yet.
+     */
+    public ImportTask importFreelancers(InputStream body, Format format) {
+        if (!importSlots.tryAcquire()) {
+            throw new TaskRejectedException("Too many imports running");
+        }
+        ImportTask task = new ImportTask();
+        task.setId(UUID.randomUUID().toString());
+        task.setFormat(format.name());
+        task.setStatus("PENDING");
+        register(task);
+
+        BlockingQueue<List<Freelancer>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        try {
+            importExecutor.execute(() -> persistBatches(task, queue));
+        } catch (RuntimeException e) {
+            fail(task, "Import could not be scheduled: " + e.getMessage());
+            finish(task);
+            throw e;
+        }
+        task.setStatus("RUNNING");
+
+        ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+        try (MappingIterator<Freelancer> records = reader.readValues(body)) {
+            List<Freelancer> batch = new ArrayList<>(BATCH_SIZE);
+            while (readNext(task, records, batch)) {
+                if (batch.size() == BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                queue.put(batch);
+            }
+        } catch (IOException e) {
+            fail(task, "Failed to parse input: " + e.getMessage());
+        } catch (InterruptedException e) {
+            fail(task, "Import interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            putEndOfInput(queue);
+        }
+        return task;
+    }
+
+    public ImportTask getTaskStatus(String taskId) {
+        return tasks.get(taskId);
+    }
+
+    /**
+     * Drops tasks that finished more than {@code imports.tasks.ttl} ago and, beyond
+     * {@code imports.tasks.max-tasks}, the oldest finished ones. Running tasks are kept.
+     */
+    @Scheduled(fixedDelayString = "${imports.tasks.sweep-interval:PT1M}")
+    public synchronized void sweepTasks() {
+        Instant expiry = Instant.now().minus(taskTtl);
+        tasks.values().removeIf(task -> task.getFinishedAt() != null && !task.getFinishedAt().isAfter(expiry));
+        int excess = tasks.size() - maxTasks;
+        if (excess > 0) {
+            tasks.values().stream()
+                    .filter(task -> task.getFinishedAt() != null)
+                    .sorted(Comparator.comparing(ImportTask::getFinishedAt))
+                    .limit(excess)
+                    .toList()
+                    .forEach(task -> tasks.remove(task.getId()));
+        }
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    private void register(ImportTask task) {
+        tasks.put(task.getId(), task);
+        if (tasks.size() > maxTasks) {
+            sweepTasks();
+        }
+    }
+
+    // The slot is free before the task reports itself finished.
+    private void finish(ImportTask task) {
+        importSlots.release();
+        task.setFinishedAt(Instant.now());
+    }
+
+    private boolean readNext(ImportTask task, MappingIterator<Freelancer> records, List<Freelancer> batch)
+            throws IOException {
+        if (!records.hasNextValue()) {
+            return false;
+        }
+        long recordNumber = task.getRecordsRead().incrementAndGet();
+        Freelancer freelancer;
+        try {
+            freelancer = records.nextValue();
+        } catch (JsonMappingException e) {
+            reject(task, recordNumber, e.getOriginalMessage());
+            return true;
+        }
+        Set<ConstraintViolation<Freelancer>> violations = validator.validate(freelancer);
+        if (violations.isEmpty()) {
+            batch.add(freelancer);
+        } else {
+            reject(task, recordNumber, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+        return true;
+    }
+
+    private void persistBatches(ImportTask task, BlockingQueue<List<Freelancer>> queue) {
+        try {
+            List<Freelancer> batch;
+            while ((batch = queue.take()) != END_OF_INPUT) {
+                // After a failure keep draining so the parser never blocks on a full queue.
+                if ("FAILED".equals(task.getStatus())) {
+                    continue;
+                }
+                try {
+                    freelancerService.bulkUpsertFreelancers(batch);
+                    task.getRecordsPersisted().addAndGet(batch.size());
+                    task.getBatchesPersisted().incrementAndGet();
+                } catch (RuntimeException e) {
+                    fail(task, "Failed to persist batch: " + e.getMessage());
+                }
+            }
+            if (!"FAILED".equals(task.getStatus())) {
+                task.setStatus("COMPLETED");
+                LOGGER.info("Import {} completed: {} persisted, {} rejected", task.getId(),
+                            task.getRecordsPersisted().get(), task.getRecordsRejected().get());
+            }
+        } catch (InterruptedException e) {
+            fail(task, "Import interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            finish(task);
+        }
+    }
+
+    private void putEndOfInput(BlockingQueue<List<Freelancer>> queue) {
+        try {
+            queue.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reject(ImportTask task, long recordNumber, String message) {
+        task.getRecordsRejected().incrementAndGet();
+        if (task.getErrors().size() < MAX_REPORTED_ERRORS) {
+            task.getErrors().add("Record " + recordNumber + ": " + message);
+        }
+    }
+
+    private void fail(ImportTask task, String message) {
+        task.setErrorMessage(message);
+        task.setStatus("FAILED");
+        LOGGER.error("Import {} failed: {}", task.getId(), message);
+    }
+}
@@ -1,44 +1,112 @@
 package com.example.javalabs.services;
 
 import com.example.javalabs.cache.FreelancerCache;
+import com.example.javalabs.cache.FreelancerIndex;
+import com.example.javalabs.cache.SkillDictionary;
 import com.example.javalabs.exceptions.NotFoundException;
 import com.example.javalabs.exceptions.ValidationException;
+import com.example.javalabs.models.BulkUpsertResult;
 import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerPage;
+import com.example.javalabs.models.FreelancerSearch;
+import com.example.javalabs.models.FreelancerSnapshot;
 import com.example.javalabs.models.Order;
 import com.example.javalabs.models.Skill;
+import com.example.javalabs.repositories.FreelancerJdbcRepository;
+import com.example.javalabs.repositories.FreelancerJdbcRepository.NaturalKey;
 import com.example.javalabs.repositories.FreelancerRepository;
 import com.example.javalabs.repositories.OrderRepository;
 import com.example.javalabs.repositories.SkillRepository;
 import com.example.javalabs.services.impl.FreelancerService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
+@Timed(value = "freelancers.service", description = "FreelancerService calls by method")
 public class FreelancerServiceImpl implements FreelancerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(FreelancerServiceImpl.class);
 
     private final FreelancerRepository freelancerRepository;
+    private final FreelancerJdbcRepository freelancerJdbcRepository;
     private final OrderRepository orderRepository;
     private final SkillRepository skillRepository;
     private final FreelancerCache freelancerCache;
+    private final SkillDictionary skillDictionary;
+    private final FreelancerIndex freelancerIndex;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+    private final SearchTimers listingTimers;
+    private final SearchTimers searchTimers;
     private static final String NF = " not found";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 1000;
 
     public FreelancerServiceImpl(FreelancerRepository freelancerRepository,
+                                 FreelancerJdbcRepository freelancerJdbcRepository,
                                  OrderRepository orderRepository,
                                  SkillRepository skillRepository,
-                                 FreelancerCache freelancerCache) {
+                                 FreelancerCache freelancerCache,
+                                 SkillDictionary skillDictionary,
+                                 FreelancerIndex freelancerIndex,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManager entityManager,
+                                 MeterRegistry meterRegistry) {
         this.freelancerRepository = freelancerRepository;
+        this.freelancerJdbcRepository = freelancerJdbcRepository;
         this.orderRepository = orderRepository;
         this.skillRepository = skillRepository;
         this.freelancerCache = freelancerCache;
+        this.skillDictionary = skillDictionary;
+        this.freelancerIndex = freelancerIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.listingTimers = SearchTimers.of(meterRegistry, "getFreelancers");
+        this.searchTimers = SearchTimers.of(meterRegistry, "searchFreelancers");
+    }
+
+    // The cache and database paths of one cached operation. The database path covers loading
+    // and building snapshots, not storing them in the cache.
+    private record SearchTimers(Timer cache, Timer database) {
+        static SearchTimers of(MeterRegistry meterRegistry, String operation) {
+            return new SearchTimers(timer(meterRegistry, operation, "cache"), timer(meterRegistry, operation, "database"));
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String operation, String source) {
+            return Timer.builder("freelancers.search")
+                    .description("Freelancer listings and searches by where the result came from")
+                    .tag("operation", operation)
+                    .tag("source", source)
+                    .register(meterRegistry);
+        }
     }
 
     @Override
@@ -46,7 +114,13 @@ public class FreelancerServiceImpl implements FreelancerService {
         if (freelancer.getOrders() == null) freelancer.setOrders(new java.util.ArrayList<>());
         if (freelancer.getSkills() == null) freelancer.setSkills(new HashSet<>());
         Freelancer savedFreelancer = freelancerRepository.save(freelancer);
-        freelancerCache.clear();
+        String category = savedFreelancer.getCategory();
+        Set<String> skillNames = skillNames(savedFreelancer);
+        FreelancerIndex.Document document = indexDocument(savedFreelancer);
+        TransactionCallbacks.afterCommit(() -> {
+            freelancerIndex.put(document);
+            freelancerCache.evictMatching(category, skillNames);
+        });
         LOGGER.info("Freelancer created with ID: {}", savedFreelancer.getId());
         return savedFreelancer;
     }
@@ -65,7 +139,14 @@ public class FreelancerServiceImpl implements FreelancerService {
         freelancer.setRating(freelancerDetails.getRating());
         freelancer.setHourlyRate(freelancerDetails.getHourlyRate());
         Freelancer updatedFreelancer = freelancerRepository.save(freelancer);
-        freelancerCache.clear();
+        // Entries for the old category are found through the freelancer ID index.
+        String category = updatedFreelancer.getCategory();
+        Set<String> skillNames = skillNames(updatedFreelancer);
+        FreelancerIndex.Document document = indexDocument(updatedFreelancer);
+        TransactionCallbacks.afterCommit(() -> {
+            freelancerIndex.put(document);
+            freelancerCache.evictForFreelancer(id, category, skillNames);
+        });
         LOGGER.info("Freelancer updated with ID: {}", id);
         return updatedFreelancer;
     }
@@ -74,7 +155,10 @@ public class FreelancerServiceImpl implements FreelancerService {
     public void deleteFreelancer(Long id) {
         Freelancer freelancer = getFreelancerById(id);
         freelancerRepository.deleteById(freelancer.getId());
-        freelancerCache.clear();
+        TransactionCallbacks.afterCommit(() -> {
+            freelancerIndex.remove(id);
+            freelancerCache.evictFreelancer(id);
+        });
         LOGGER.info("Freelancer deleted with ID: {}", id);
     }
 
@@ -86,7 +170,7 @@ public class FreelancerServiceImpl implements FreelancerService {
         freelancer.getOrders().add(order);
         orderRepository.save(order);
         Freelancer updatedFreelancer = freelancerRepository.save(freelancer);
-        freelancerCache.clear();
+        TransactionCallbacks.afterCommit(() -> freelancerCache.evictFreelancer(freelancerId));
         LOGGER.info("Order added to freelancer with ID: {}", freelancerId);
         return updatedFreelancer;
     }
@@ -94,14 +178,21 @@ public class FreelancerServiceImpl implements FreelancerService {
     @Override
     public Freelancer addSkillToFreelancer(Long freelancerId, String skillName) {
         Freelancer freelancer = getFreelancerById(freelancerId);
-        Optional<Skill> existingSkill = skillRepository.findByName(skillName);
-        Skill skill = existingSkill.orElseGet(() -> skillRepository.save(new Skill(skillName)));
-        if (!freelancer.getSkills().add(skill)) {
+        Long skillId = skillDictionary.resolve(skillName);
+        if (freelancer.getSkills().stream().anyMatch(s -> skillId.equals(s.getId()))) {
             throw new ValidationException("Skill '" + skillName +
                                           "' is already associated with freelancer with ID " + freelancerId);
         }
+        Skill skill = skillRepository.findById(skillId)
+                .orElseThrow(() -> new NotFoundException("Skill with ID " + skillId + NF));
+        freelancer.getSkills().add(skill);
         Freelancer updatedFreelancer = freelancerRepository.save(freelancer);
-        freelancerCache.clear();
+        String category = updatedFreelancer.getCategory();
+        FreelancerIndex.Document document = indexDocument(updatedFreelancer);
+        TransactionCallbacks.afterCommit(() -> {
+            freelancerIndex.put(document);
+            freelancerCache.evictForFreelancer(freelancerId, category, Set.of(skillName));
+        });
         LOGGER.info("Skill '{}' added to freelancer with ID: {}", skillName, freelancerId);
         return updatedFreelancer;
     }
@@ -118,7 +209,7 @@ public class FreelancerServiceImpl implements FreelancerService {
         freelancer.getOrders().remove(order);
         orderRepository.delete(order);
         freelancerRepository.save(freelancer);
-        freelancerCache.clear();
+        TransactionCallbacks.afterCommit(() -> freelancerCache.evictFreelancer(freelancerId));
         LOGGER.info("Deleted order {} from freelancer {}", orderId, freelancerId);
     }
 
@@ -132,53 +223,272 @@ public class FreelancerServiceImpl implements FreelancerService {
                                           " is not associated with freelancer with ID " + freelancerId);
         }
         freelancerRepository.save(freelancer);
-        freelancerCache.clear();
+        FreelancerIndex.Document document = indexDocument(freelancer);
+        TransactionCallbacks.afterCommit(() -> {
+            freelancerIndex.put(document);
+            freelancerCache.evictFreelancer(freelancerId);
+        });
         LOGGER.info("Skill with ID {} deleted from freelancer with ID: {}", skillId, freelancerId);
     }
 
     @Override
-    public List<Freelancer> getFreelancers(String category, String skillName) {
-        long startTime;
-        List<Freelancer> freelancers;
-
-        if (freelancerCache.containsKey(category, skillName)) {
-            startTime = System.nanoTime();
-            freelancers = freelancerCache.getFreelancers(category, skillName).stream()
-                    .sorted(Comparator.comparingLong(Freelancer::getId))
-                    .collect(Collectors.toList());
-            long endTime = System.nanoTime();
-            LOGGER.info("Data retrieved from cache in {} ns for category: {}, skillName: {}",
-                        endTime - startTime, category, skillName);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<FreelancerSnapshot> getFreelancers(String category, String skillName) {
+        FreelancerSearch search = FreelancerSearch.listing(category, skillName);
+        String normalizedSkill = search.skills().isEmpty() ? null : search.skills().get(0);
+        return cachedSearch(search, listingTimers, () -> findFreelancers(search.category(), normalizedSkill)
+                .stream()
+                .sorted(Comparator.comparingLong(Freelancer::getId))
+                .toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<FreelancerSnapshot> searchFreelancers(FreelancerSearch search) {
+        if (search.limit() == null || search.limit() < 1 || search.limit() > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validateRange("rating", search.minRating(), search.maxRating());
+        validateRange("hourly rate", search.minHourlyRate(), search.maxHourlyRate());
+        return cachedSearch(search, searchTimers, () -> findAllInOrder(freelancerJdbcRepository.searchIds(search)));
+    }
+
+    private List<FreelancerSnapshot> cachedSearch(FreelancerSearch search, SearchTimers timers,
+                                                  Supplier<List<Freelancer>> loader) {
+        long startTime = System.nanoTime();
+        List<FreelancerSnapshot> freelancers = freelancerCache.getFreelancers(search);
+
+        if (freelancers != null) {
+            timers.cache().record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
             return freelancers;
         }
 
+        long generation = freelancerCache.generation();
         startTime = System.nanoTime();
-        freelancers = freelancerRepository.findByCategoryAndSkill(category, skillName)
+        // Cache hits never touch a connection; only a miss opens a read-only transaction,
+        // long enough to build detached snapshots from the entities and their collections.
+        freelancers = readOnlyTransaction.execute(status -> loader.get()
                 .stream()
-                .sorted(Comparator.comparingLong(Freelancer::getId))
-                .collect(Collectors.toList());
-        long endTime = System.nanoTime();
-        LOGGER.info("Data retrieved from database in {} ns for category: {}, skillName: {}",
-                    endTime - startTime, category, skillName);
+                .map(FreelancerSnapshot::from)
+                .collect(Collectors.toUnmodifiableList()));
+        long databaseNanos = System.nanoTime() - startTime;
+        timers.database().record(databaseNanos, TimeUnit.NANOSECONDS);
+        LOGGER.debug("Data retrieved from database in {} ns for search: {}", databaseNanos, search);
 
-        freelancerCache.putFreelancers(category, skillName, freelancers);
+        freelancerCache.putFreelancers(search, freelancers, generation);
         return freelancers;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public FreelancerPage getFreelancersPage(String category, String skillName, Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Long> ids = freelancerIndex.isReady()
+                ? pageOf(freelancerIndex.find(category, skillName), afterId, limit)
+                : freelancerRepository.findIdsPage(category, skillName, afterId, PageRequest.of(0, limit));
+        List<FreelancerSnapshot> items = freelancerRepository.findAllWithCollectionsByIdIn(ids).stream()
+                .map(FreelancerSnapshot::from)
+                .toList();
+        Long nextAfterId = ids.size() == limit ? ids.get(ids.size() - 1) : null;
+        return new FreelancerPage(items, nextAfterId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamFreelancers(String category, String skillName, Consumer<FreelancerSnapshot> consumer) {
+        // IDs come off a JDBC cursor; each batch is hydrated, handed to the consumer and then
+        // detached, so memory stays proportional to the batch size rather than the result.
+        try (Stream<Long> ids = freelancerRepository.streamIdsByCategoryAndSkill(category, skillName)) {
+            Iterator<Long> iterator = ids.iterator();
+            List<Long> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == STREAM_BATCH_SIZE || !iterator.hasNext()) {
+                    freelancerRepository.findAllWithCollectionsByIdIn(batch)
+                            .forEach(freelancer -> consumer.accept(FreelancerSnapshot.from(freelancer)));
+                    entityManager.clear();
+                    batch.clear();
+                }
+            }
+        }
+    }
+
     @Override
     @Transactional
-    public List<Freelancer> bulkUpsertFreelancers(List<Freelancer> freelancers) {
+    public BulkUpsertResult bulkUpsertFreelancers(List<Freelancer> freelancers) {
         if (freelancers == null || freelancers.isEmpty()) {
             LOGGER.warn("Bulk upsert called with empty or null list");
-            return List.of();
+            return BulkUpsertResult.empty();
         }
 
-        List<Freelancer> result = freelancers.stream()
+        long startTime = System.nanoTime();
+        List<Freelancer> valid = freelancers.stream()
                 .filter(f -> f != null && f.getName() != null)
-                .map(this::createFreelancer)
-                .collect(Collectors.toList());
+                .toList();
+        // Make pending JPA changes visible to the JDBC batches below.
+        entityManager.flush();
+
+        List<BulkUpsertResult.ChunkResult> chunks = new ArrayList<>();
+        // One document per persisted row: the category of the last row for an ID, which is the
+        // one written, and the skills of all of them, which are all linked.
+        Map<Long, FreelancerIndex.Document> documents = new LinkedHashMap<>();
+        int inserted = 0;
+        int updated = 0;
+        for (int from = 0; from < valid.size(); from += BULK_CHUNK_SIZE) {
+            List<Freelancer> chunk = valid.subList(from, Math.min(valid.size(), from + BULK_CHUNK_SIZE));
+            BulkUpsertResult.ChunkResult result = upsertChunk(chunks.size(), chunk);
+            chunks.add(result);
+            inserted += result.inserted();
+            updated += result.updated();
+            chunk.forEach(freelancer -> documents.merge(freelancer.getId(), indexDocument(freelancer),
+                                                        FreelancerServiceImpl::combine));
+            entityManager.clear();
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            freelancerIndex.merge(documents.values());
+            freelancerCache.clear();
+        });
+
+        long totalMillis = (System.nanoTime() - startTime) / 1_000_000;
+        LOGGER.info("Processed bulk upsert for {} freelancers in {} chunks ({} inserted, {} updated) in {} ms",
+                    valid.size(), chunks.size(), inserted, updated, totalMillis);
+        return new BulkUpsertResult(freelancers.size(), inserted, updated, freelancers.size() - valid.size(),
+                                    totalMillis, chunks);
+    }
+
+    // Rows are matched by ID when it exists, otherwise by (name, category). Within a chunk the
+    // last row for a key wins. Orders are only written for newly inserted freelancers; skills
+    // are linked for every row.
+    private BulkUpsertResult.ChunkResult upsertChunk(int index, List<Freelancer> chunk) {
+        long startTime = System.nanoTime();
+        Set<Long> requestedIds = chunk.stream()
+                .map(Freelancer::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingIds = freelancerJdbcRepository.findExistingIds(requestedIds);
+        Set<NaturalKey> keys = chunk.stream()
+                .filter(f -> f.getId() == null || !existingIds.contains(f.getId()))
+                .map(NaturalKey::of)
+                .collect(Collectors.toSet());
+        Map<NaturalKey, Long> existingByKey = freelancerJdbcRepository.findIdsByNaturalKeys(keys);
 
-        LOGGER.info("Processed bulk upsert for {} freelancers", result.size());
-        return result;
+        Map<Long, Freelancer> updates = new LinkedHashMap<>();
+        Map<NaturalKey, Freelancer> inserts = new LinkedHashMap<>();
+        for (Freelancer freelancer : chunk) {
+            NaturalKey key = NaturalKey.of(freelancer);
+            Long id = freelancer.getId() != null && existingIds.contains(freelancer.getId())
+                    ? freelancer.getId()
+                    : existingByKey.get(key);
+            freelancer.setId(id);
+            if (id != null) {
+                updates.put(id, freelancer);
+            } else {
+                inserts.put(key, freelancer);
+            }
+        }
+
+        freelancerJdbcRepository.batchUpdate(new ArrayList<>(updates.values()));
+        List<Freelancer> toInsert = new ArrayList<>(inserts.values());
+        List<Long> newIds = freelancerJdbcRepository.batchInsert(toInsert);
+        List<FreelancerJdbcRepository.OrderRow> orders = new ArrayList<>();
+        for (int i = 0; i < toInsert.size(); i++) {
+            Freelancer freelancer = toInsert.get(i);
+            freelancer.setId(newIds.get(i));
+            if (freelancer.getOrders() != null) {
+                for (Order order : freelancer.getOrders()) {
+                    orders.add(new FreelancerJdbcRepository.OrderRow(freelancer.getId(), order.getDescription(),
+                                                                     order.getPrice()));
+                }
+            }
+        }
+        // Earlier rows repeating a new key were not inserted; they stand for the row that was.
+        for (Freelancer freelancer : chunk) {
+            if (freelancer.getId() == null) {
+                freelancer.setId(inserts.get(NaturalKey.of(freelancer)).getId());
+            }
+        }
+        freelancerJdbcRepository.batchInsertOrders(orders);
+        freelancerJdbcRepository.batchInsertSkillLinks(skillLinks(chunk));
+
+        long millis = (System.nanoTime() - startTime) / 1_000_000;
+        LOGGER.debug("Bulk upsert chunk {}: {} rows, {} inserted, {} updated in {} ms",
+                     index, chunk.size(), toInsert.size(), updates.size(), millis);
+        return new BulkUpsertResult.ChunkResult(index, chunk.size(), toInsert.size(), updates.size(), millis);
+    }
+
+    // Resolves every skill name in the chunk with one dictionary call and links them to the
+    // upserted freelancers; existing links are kept.
+    private List<FreelancerJdbcRepository.SkillLink> skillLinks(List<Freelancer> chunk) {
+        Set<String> names = new HashSet<>();
+        for (Freelancer freelancer : chunk) {
+            names.addAll(skillNames(freelancer));
+        }
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Long> skillIds = skillDictionary.resolveAll(names);
+        List<FreelancerJdbcRepository.SkillLink> links = new ArrayList<>();
+        for (Freelancer freelancer : chunk) {
+            for (String name : skillNames(freelancer)) {
+                links.add(new FreelancerJdbcRepository.SkillLink(freelancer.getId(), skillIds.get(name)));
+            }
+        }
+        return links;
+    }
+
+    // The index answers the filter when it is loaded; the database then only hydrates the rows.
+    private List<Freelancer> findFreelancers(String category, String skillName) {
+        if (!freelancerIndex.isReady()) {
+            return freelancerRepository.findByCategoryAndSkill(category, skillName);
+        }
+        long[] ids = freelancerIndex.find(category, skillName);
+        return freelancerRepository.findAllWithCollectionsByIdIn(Arrays.stream(ids).boxed().toList());
+    }
+
+    // Hydrates the rows and restores the order of the given IDs.
+    private List<Freelancer> findAllInOrder(List<Long> ids) {
+        Map<Long, Freelancer> byId = new HashMap<>();
+        for (Freelancer freelancer : freelancerRepository.findAllWithCollectionsByIdIn(ids)) {
+            byId.put(freelancer.getId(), freelancer);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static void validateRange(String name, Double min, Double max) {
+        if (min != null && max != null && min > max) {
+            throw new ValidationException("Minimum " + name + " must not exceed maximum " + name);
+        }
+    }
+
+    private static List<Long> pageOf(long[] ids, Long afterId, int limit) {
+        int from = 0;
+        if (afterId != null) {
+            int index = Arrays.binarySearch(ids, afterId);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        return Arrays.stream(ids, from, Math.min(ids.length, from + limit)).boxed().toList();
+    }
+
+    private static FreelancerIndex.Document indexDocument(Freelancer freelancer) {
+        return new FreelancerIndex.Document(freelancer.getId(), freelancer.getCategory(), skillNames(freelancer));
+    }
+
+    private static FreelancerIndex.Document combine(FreelancerIndex.Document earlier,
+                                                    FreelancerIndex.Document later) {
+        Set<String> skills = new HashSet<>(earlier.skills());
+        skills.addAll(later.skills());
+        return new FreelancerIndex.Document(later.id(), later.category(), skills);
+    }
+
+    private static Set<String> skillNames(Freelancer freelancer) {
+        if (freelancer.getSkills() == null) {
+            return Set.of();
+        }
+        return freelancer.getSkills().stream()
+                .map(Skill::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
     }
 }
\ No newline at end of file
@@ -1,123 +1,694 @@
 package com.example.javalabs.services;
 
+import com.example.javalabs.exceptions.NotFoundException;
 import com.example.javalabs.exceptions.ValidationException;
 import com.example.javalabs.models.LogTask;
+import com.example.javalabs.logs.ExportResultCache;
+import com.example.javalabs.logs.LogExtractor;
+import com.example.javalabs.logs.LogFilter;
+import com.example.javalabs.logs.LogIndexStore;
+import com.example.javalabs.logs.LogLineWriter;
+import com.example.javalabs.logs.LogQuery;
+import com.example.javalabs.logs.LogRecords;
+import com.example.javalabs.logs.LogTaskStore;
+import com.example.javalabs.logs.LogTimeIndex;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
 public class LogService {
     private static final Logger logger = LoggerFactory.getLogger(LogService.class);
     private final String logDir;
+    private final Path exportDir;
+    private final Duration taskTtl;
     private static final String LOG_FILE_PATTERN = "app-%s.log";
-    private final ConcurrentHashMap<String, LogTask> tasks = new ConcurrentHashMap<>();
+    public static final int MAX_STREAM_LINES = 100_000;
+    private static final String ARCHIVE_SUFFIX = ".gz";
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+    private final LogExtractor logExtractor;
+    private final LogIndexStore logIndexStore = new LogIndexStore();
+    private final AsyncTaskExecutor exportExecutor;
+    private final Executor scanExecutor;
+    private final LongAdder rejectedExports = new LongAdder();
+    // Identical requests share the task already working on them.
+    private final ConcurrentHashMap<LogQuery, LogTask> inFlight = new ConcurrentHashMap<>();
+    private final ExportResultCache resultCache;
+    private final LogTaskStore tasks;
 
-    public LogService() {
-        this.logDir = System.getProperty("log.dir", "logs");
+    @Autowired
+    public LogService(@Value("${log.dir:logs}") String logDir,
+                      @Value("${logs.export.dir:${log.dir:logs}/exports}") String exportDir,
+                      @Qualifier("logExportExecutor") AsyncTaskExecutor exportExecutor,
+                      @Qualifier("logScanExecutor") Executor scanExecutor,
+                      @Value("${logs.export.scan-threads:4}") int scanThreads,
+                      @Value("${logs.export.cache.max-entries:64}") int cacheMaxEntries,
+                      @Value("${logs.export.cache.max-bytes:1073741824}") long cacheMaxBytes,
+                      @Value("${logs.export.tasks.ttl:PT1H}") Duration taskTtl,
+                      @Value("${logs.export.tasks.max-tasks:1000}") int maxTasks,
+                      @Value("${logs.export.tasks.max-bytes:2147483648}") long maxTaskBytes) {
+        this.logDir = logDir;
+        this.exportDir = Paths.get(exportDir);
+        this.taskTtl = taskTtl;
+        this.exportExecutor = exportExecutor;
+        this.scanExecutor = scanExecutor;
+        this.logExtractor = new LogExtractor(scanExecutor, scanThreads, LogExtractor.DEFAULT_CHUNK_SIZE);
+        this.resultCache = new ExportResultCache(cacheMaxEntries, cacheMaxBytes);
+        this.tasks = new LogTaskStore(taskTtl, maxTasks, maxTaskBytes);
     }
 
     public LogService(String logDir) {
-        this.logDir = logDir;
+        this(logDir, logDir + "/exports", new SimpleAsyncTaskExecutor("log-export-"), new SimpleAsyncTaskExecutor("log-scan-"), 4,
+             64, 1024L * 1024 * 1024,
+             Duration.ofHours(1), 1000, 2L * 1024 * 1024 * 1024);
     }
 
-    @Async
-    public CompletableFuture<String> createLogFileAsync(String date, String level) {
-        String taskId = UUID.randomUUID().toString();
-        LogTask task = new LogTask();
-        task.setId(taskId);
-        task.setStatus("PENDING");
-        tasks.put(taskId, task);
-
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                Thread.sleep(20000);
-                Path result = getLogs(date, level);
+    /**
+     * Validates the request and returns the ID of a task producing its export. A finished
+     * export of a closed day is served from the result cache, a request identical to one still
+     * in progress joins that task, anything else is queued on the bounded export executor.
+     *
+     * @throws TaskRejectedException if the executor queue is full
+     */
+    public String createLogFile(String date, String level, String from, String to) {
+        return createLogFile(LogQuery.parse(date, level, from, to));
+    }
+
+    public String createLogFile(LogQuery query) {
+        Path cached = cachedResult(query);
+        if (cached != null) {
+            LogTask task = newTask("COMPLETED");
+            task.setLogFile(cached);
+            task.setFinishedAt(Instant.now());
+            logger.info("Log export for {} served from cache by task {}", query, task.getId());
+            return task.getId();
+        }
+
+        LogTask created = new LogTask();
+        created.setId(UUID.randomUUID().toString());
+        created.setStatus("PENDING");
+        LogTask task = inFlight.compute(query, (key, existing) -> existing != null && isActive(existing)
+                ? existing
+                : created);
+        if (task != created) {
+            logger.info("Log export for {} joined task {}", query, task.getId());
+            return task.getId();
+        }
+        register(created);
+        try {
+            created.setFuture(exportExecutor.submit(() -> runExport(created, query)));
+        } catch (TaskRejectedException e) {
+            tasks.remove(created.getId());
+            inFlight.remove(query, created);
+            rejectedExports.increment();
+            logger.warn("Log export rejected, executor is saturated");
+            throw e;
+        }
+        return created.getId();
+    }
+
+    /**
+     * Cancels a pending or running export. Returns false if the task already finished.
+     */
+    public boolean cancelTask(String taskId) {
+        LogTask task = tasks.get(taskId);
+        if (task == null) {
+            throw new NotFoundException("Task " + taskId + " not found");
+        }
+        synchronized (task) {
+            if (!"PENDING".equals(task.getStatus()) && !"RUNNING".equals(task.getStatus())) {
+                return false;
+            }
+            task.setStatus("CANCELLED");
+            task.setFinishedAt(Instant.now());
+        }
+        if (task.getFuture() != null) {
+            task.getFuture().cancel(true);
+        }
+        logger.info("Log export task {} cancelled", taskId);
+        return true;
+    }
+
+    public long getRejectedExports() {
+        return rejectedExports.sum();
+    }
+
+    public long countTasks(String status) {
+        return tasks.count(status);
+    }
+
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Bytes of export files on disk, both owned by tasks and held by the result cache.
+     */
+    public long getExportBytes() {
+        return tasks.ownedBytes() + resultCache.totalBytes();
+    }
+
+    /**
+     * Deletes export files left behind by an earlier run: the tasks and the result cache that
+     * owned them lived in memory only. Files younger than the task TTL are kept in case another
+     * instance sharing the directory still serves them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteOrphanedExports() {
+        if (!Files.isDirectory(exportDir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(taskTtl);
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(exportDir, "logs-*")) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not remove old log exports in {}: {}", exportDir, e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Removed {} log exports left by an earlier run", deleted);
+        }
+    }
+
+    /**
+     * Drops expired and excess finished tasks and deletes the export files only they used.
+     */
+    @Scheduled(fixedDelayString = "${logs.export.tasks.sweep-interval:PT1M}")
+    public void sweepTasks() {
+        List<LogTask> removed = tasks.sweep(Instant.now());
+        for (LogTask task : removed) {
+            Path file = task.getLogFile();
+            if (file != null && !resultCache.contains(file)) {
+                deleteQuietly(file);
+            }
+        }
+        if (!removed.isEmpty()) {
+            logger.info("Removed {} finished log export tasks, {} remain", removed.size(), tasks.size());
+        }
+    }
+
+    private void runExport(LogTask task, LogQuery query) {
+        try {
+            runExport(task, query, query.isClosedDay() ? cacheKey(query) : null);
+        } finally {
+            inFlight.remove(query, task);
+        }
+    }
+
+    private void runExport(LogTask task, LogQuery query, ExportResultCache.Key keyBefore) {
+        synchronized (task) {
+            if (!"PENDING".equals(task.getStatus())) {
+                return;
+            }
+            task.setStatus("RUNNING");
+        }
+        Path result = null;
+        long ownedBytes;
+        try {
+            result = getLogs(query);
+            ownedBytes = Files.size(result);
+            // Only cache if the source file did not change while it was being read.
+            if (keyBefore != null && keyBefore.equals(cacheKey(query))) {
+                resultCache.put(keyBefore, result);
+                ownedBytes = 0;
+            }
+        } catch (Exception e) {
+            if (result != null && !resultCache.contains(result)) {
+                deleteQuietly(result);
+            }
+            synchronized (task) {
+                if ("RUNNING".equals(task.getStatus())) {
+                    task.setFinishedAt(Instant.now());
+                    task.setStatus("FAILED");
+                    task.setErrorMessage(e.getMessage());
+                    logger.error("Failed to create log file for task {}: {}", task.getId(), e.getMessage());
+                }
+            }
+            return;
+        }
+        boolean completed = false;
+        synchronized (task) {
+            if ("RUNNING".equals(task.getStatus())) {
                 task.setLogFile(result);
+                task.setOwnedBytes(ownedBytes);
+                task.setFinishedAt(Instant.now());
                 task.setStatus("COMPLETED");
-                logger.info("Log file created for task {}", taskId);
-            } catch (InterruptedException e) {
-                task.setStatus("FAILED");
-                task.setErrorMessage("Task interrupted: " + e.getMessage());
-                logger.error("Task {} interrupted: {}", taskId, e.getMessage());
-                Thread.currentThread().interrupt();
-            } catch (Exception e) {
-                task.setStatus("FAILED");
-                task.setErrorMessage(e.getMessage());
-                logger.error("Failed to create log file for task {}: {}", taskId, e.getMessage());
+                completed = true;
+                logger.info("Log file created for task {}", task.getId());
             }
-            return taskId;
-        });
-
-        return CompletableFuture.completedFuture(taskId);
+        }
+        if (completed) {
+            if (tasks.isOverLimit()) {
+                sweepTasks();
+            }
+        } else if (!resultCache.contains(result)) {
+            deleteQuietly(result);
+        }
     }
 
     public LogTask getTaskStatus(String taskId) {
         return tasks.get(taskId);
     }
 
+    /**
+     * Returns the export of a completed task, or null if it is unknown, not finished, or its
+     * file has since been evicted.
+     */
     public Path getLogFile(String taskId) {
         LogTask task = tasks.get(taskId);
-        return (task != null && "COMPLETED".equals(task.getStatus())) ? task.getLogFile() : null;
+        if (task == null || !"COMPLETED".equals(task.getStatus()) || !Files.exists(task.getLogFile())) {
+            return null;
+        }
+        return task.getLogFile();
     }
 
     public Path getLogs(String date, String level) throws IOException {
-        try {
-            LocalDate targetDate = (date == null) ? LocalDate.now() : LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
-            String logFilePath = String.format(logDir + "/" + LOG_FILE_PATTERN, targetDate.toString());
-            Path path = Paths.get(logFilePath);
+        return getLogs(date, level, null, null);
+    }
 
-            if (!Files.exists(path)) {
-                throw new IOException("No logs found for date: " + targetDate);
+    /**
+     * Extracts the lines of the given day with the level whose time is in {@code [from, to)}.
+     * If the file has binary records, matching events, stack traces included, are selected from
+     * them and copied without looking at the text. Otherwise the file's time index narrows the
+     * scan to the minutes, and for a known level to the minutes containing that level, that
+     * can match.
+     */
+    public Path getLogs(String date, String level, String from, String to) throws IOException {
+        return getLogs(LogQuery.parse(date, level, from, to));
+    }
+
+    /**
+     * Extracts the matching lines of every day of the query into one file, in timestamp order.
+     * Days are read concurrently; rolled-over days are read from their compressed archive.
+     */
+    public Path getLogs(LogQuery query) throws IOException {
+        List<DayLog> logs = dayLogs(query);
+        try {
+            if (logs.isEmpty()) {
+                throw new IOException("No logs found for date: " + describeDays(query));
             }
 
-            List<String> logs = Files.lines(path)
-                    .filter(line -> !line.trim().isEmpty())
-                    .filter(line -> line.length() >= 25)
-                    .filter(line -> level == null || extractLogLevel(line).equalsIgnoreCase(level))
-                    .collect(Collectors.toList());
+            Path tempFile = exportFile("logs-" + query.date(), ".log");
+            LogExtractor.Result result;
+            try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                result = logs.size() == 1
+                        ? extractDay(logs.get(0), query.forDay(logs.get(0).day()), out)
+                        : extractDays(logs, query, out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
 
-            logger.info("Retrieved logs from file: {} with level: {}", logFilePath, level != null ? level : "all");
+            logger.info("Retrieved {} lines from {} day(s) of {} with level: {}",
+                        result.linesMatched(), logs.size(), describeDays(query),
+                        query.level() != null ? query.level() : "all");
 
-            if (logs.isEmpty()) {
-                throw new IOException("No logs found for date: " + targetDate);
+            if (result.linesMatched() == 0) {
+                Files.deleteIfExists(tempFile);
+                throw new IOException("No logs found for date: " + describeDays(query));
             }
 
-            Path tempFile = Files.createTempFile("logs-" + targetDate, ".log");
-            Files.write(tempFile, logs);
-
             return tempFile;
-        } catch (DateTimeParseException e) {
-            logger.error("Invalid date format: {}", date);
-            throw new ValidationException("Invalid date format: " + date + ". Use yyyy-MM-dd");
         } catch (IOException e) {
-            logger.error("Error reading log file for date: {}, level: {}", date, level);
+            logger.error("Error reading log file for date: {}, level: {}", describeDays(query), query.level());
             throw e;
         }
     }
 
-    private String extractLogLevel(String line) {
+    // The log of one day: the live or plain file, or its gzip archive once it was rolled over
+    // and compressed.
+    private record DayLog(LocalDate day, Path plain, Path archive) {
+        Path file() {
+            return archive != null ? archive : plain;
+        }
+    }
+
+    // Where matching lines can be: exact event ranges when the file's binary records describe
+    // it, otherwise the candidate ranges of the per-minute index whose lines still have to be
+    // filtered. Bytes past coveredLength are in neither and are always filtered.
+    private record ScanPlan(List<LogTimeIndex.Range> ranges, long coveredLength, boolean exact, long events) {
+    }
+
+    private record DayPart(Path file, LogExtractor.Result result) {
+    }
+
+    // The extraction of one day of a multi-day export. A part that finishes after it was
+    // cancelled deletes its file, since no one will read it.
+    private static final class PartTask extends FutureTask<DayPart> {
+        PartTask(Callable<DayPart> extraction) {
+            super(extraction);
+        }
+
+        @Override
+        protected void set(DayPart part) {
+            super.set(part);
+            if (isCancelled()) {
+                deleteQuietly(part.file());
+            }
+        }
+    }
+
+    private List<DayLog> dayLogs(LogQuery query) {
+        List<DayLog> logs = new ArrayList<>();
+        for (LocalDate day : query.days()) {
+            Path plain = logFile(day);
+            Path archive = plain.resolveSibling(plain.getFileName() + ARCHIVE_SUFFIX);
+            // While an archive is being written the plain file still exists and is complete.
+            if (Files.exists(plain)) {
+                logs.add(new DayLog(day, plain, null));
+            } else if (Files.exists(archive)) {
+                logs.add(new DayLog(day, plain, archive));
+            }
+        }
+        return logs;
+    }
+
+    private LogExtractor.Result extractDay(DayLog log, LogQuery query, WritableByteChannel out) throws IOException {
+        if (log.archive() != null) {
+            LogLineWriter writer = new LogLineWriter(Channels.newOutputStream(out), LogLineWriter.Format.TEXT,
+                                                     Long.MAX_VALUE);
+            scanArchive(log, query, writer);
+            writer.flush();
+            return new LogExtractor.Result(writer.lines(), writer.bytes());
+        }
+        try (FileChannel source = FileChannel.open(log.plain(), StandardOpenOption.READ)) {
+            return extract(log.plain(), source, query, out);
+        }
+    }
+
+    // Each day is extracted to its own part file on the bounded scan executor, which runs a part
+    // on the export thread itself when all its threads are busy; the parts are appended in day
+    // order, which is timestamp order since every file holds exactly one day. If the export is
+    // cancelled or a part fails, the parts not yet appended are cancelled, which interrupts
+    // their reads, and their files are deleted.
+    private LogExtractor.Result extractDays(List<DayLog> logs, LogQuery query, FileChannel out) throws IOException {
+        List<PartTask> parts = new ArrayList<>();
+        int consumed = 0;
+        try {
+            for (DayLog log : logs) {
+                PartTask part = new PartTask(() -> extractDayPart(log, query.forDay(log.day())));
+                parts.add(part);
+                scanExecutor.execute(part);
+            }
+            long lines = 0;
+            long bytes = 0;
+            for (PartTask future : parts) {
+                DayPart part = awaitPart(future);
+                consumed++;
+                try (FileChannel partChannel = FileChannel.open(part.file(), StandardOpenOption.READ)) {
+                    transfer(partChannel, new LogTimeIndex.Range(0, partChannel.size()), out);
+                } finally {
+                    deleteQuietly(part.file());
+                }
+                lines += part.result().linesMatched();
+                bytes += part.result().bytesWritten();
+            }
+            return new LogExtractor.Result(lines, bytes);
+        } finally {
+            for (PartTask abandoned : parts.subList(consumed, parts.size())) {
+                // A part that finished before it could be cancelled still has its file.
+                if (!abandoned.cancel(true) && abandoned.state() == Future.State.SUCCESS) {
+                    deleteQuietly(abandoned.resultNow().file());
+                }
+            }
+        }
+    }
+
+    private DayPart extractDayPart(DayLog log, LogQuery query) throws IOException {
+        Path file = exportFile("logs-" + log.day(), ".part");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            return new DayPart(file, extractDay(log, query, out));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private static DayPart awaitPart(PartTask future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Log export cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Log extraction failed", e.getCause());
+        }
+    }
+
+    // Records come first: they seek to a time window by binary search, so a narrow window reads
+    // about as many records as it has events, and they select stack traces exactly.
+    private ScanPlan plan(Path path, FileChannel source, LogQuery query) throws IOException {
+        LogRecords.Scan scan = LogRecords.scan(path, query.date(), query.from(), query.to(), query.level(),
+                                               source.size());
+        if (scan != null) {
+            return new ScanPlan(scan.ranges(), scan.coveredLength(), true, scan.events());
+        }
+        LogTimeIndex index = logIndexStore.get(path, source);
+        return new ScanPlan(index.ranges(query.from(), query.to(), query.level()), index.indexedLength(), false, 0);
+    }
+
+    private LogExtractor.Result extract(Path path, FileChannel source, LogQuery query,
+                                        WritableByteChannel out) throws IOException {
+        LogFilter filter = LogFilter.of(query.level(), query.from(), query.to());
+        ScanPlan plan = plan(path, source, query);
+        long lines = plan.events();
+        long bytes = 0;
+        for (LogTimeIndex.Range range : plan.ranges()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Log export cancelled");
+            }
+            if (plan.exact()) {
+                bytes += transfer(source, range, out);
+                continue;
+            }
+            LogExtractor.Result result = logExtractor.extract(source, range.start(), range.end(), filter, out);
+            lines += result.linesMatched();
+            bytes += result.bytesWritten();
+        }
+        // A last line still being written is not indexed yet.
+        LogExtractor.Result tail = logExtractor.extract(source, plan.coveredLength(), source.size(), filter, out);
+        return new LogExtractor.Result(lines + tail.linesMatched(), bytes + tail.bytesWritten());
+    }
+
+    // Archives cannot be seeked, so they are decompressed once from the start. Records written
+    // for the plain file still apply since they address the uncompressed bytes.
+    private boolean scanArchive(DayLog log, LogQuery query, LogExtractor.LineVisitor visitor) throws IOException {
+        LogFilter filter = LogFilter.of(query.level(), query.from(), query.to());
+        LogRecords.Scan scan = LogRecords.scan(log.plain(), query.date(), query.from(), query.to(), query.level(),
+                                               Long.MAX_VALUE);
+        LogExtractor.LineSelector selector = scan == null
+                ? (buffer, start, end, offset) -> filter.matches(buffer, start, end)
+                : new RangeSelector(scan, filter);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(log.archive()), ARCHIVE_BUFFER_SIZE)) {
+            return logExtractor.forEachMatch(in, selector, visitor);
+        }
+    }
+
+    // Selects lines inside the record ranges, visited in ascending offset order, and filters the
+    // text the records do not cover.
+    private static final class RangeSelector implements LogExtractor.LineSelector {
+        private final List<LogTimeIndex.Range> ranges;
+        private final long coveredLength;
+        private final LogFilter filter;
+        private int next;
+
+        RangeSelector(LogRecords.Scan scan, LogFilter filter) {
+            this.ranges = scan.ranges();
+            this.coveredLength = scan.coveredLength();
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean select(ByteBuffer buffer, int start, int end, long offset) {
+            if (offset >= coveredLength) {
+                return filter.matches(buffer, start, end);
+            }
+            while (next < ranges.size() && ranges.get(next).end() <= offset) {
+                next++;
+            }
+            return next < ranges.size() && ranges.get(next).start() <= offset;
+        }
+    }
+
+    private static long transfer(FileChannel source, LogTimeIndex.Range range, WritableByteChannel out)
+            throws IOException {
+        long position = range.start();
+        while (position < range.end()) {
+            long transferred = source.transferTo(position, range.end() - position, out);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+        }
+        return position - range.start();
+    }
+
+    /**
+     * Validates a streaming query up front, while errors can still become a status code.
+     */
+    public LogQuery checkStream(String date, String level, String from, String to, int limit) {
+        return checkStream(LogQuery.parse(date, level, from, to), limit);
+    }
+
+    public LogQuery checkStream(LogQuery query, int limit) {
+        if (limit < 1 || limit > MAX_STREAM_LINES) {
+            throw new ValidationException("limit must be between 1 and " + MAX_STREAM_LINES);
+        }
+        if (dayLogs(query).isEmpty()) {
+            throw new NotFoundException("No logs found for date: " + describeDays(query));
+        }
+        return query;
+    }
+
+    /**
+     * Writes matching lines to {@code writer} as they are found, day by day in file order, and
+     * stops as soon as the writer's limit is reached or writing fails because the client
+     * disconnected. Returns the number of lines written.
+     */
+    public long streamLogs(LogQuery query, LogLineWriter writer) throws IOException {
+        long startTime = System.nanoTime();
+        List<DayLog> logs = dayLogs(query);
+        for (DayLog log : logs) {
+            if (!streamDay(log, query.forDay(log.day()), writer)) {
+                break;
+            }
+        }
+        writer.flush();
+        logger.info("Streamed {} lines from {} day(s) of {} in {} ms", writer.lines(), logs.size(),
+                    describeDays(query), (System.nanoTime() - startTime) / 1_000_000);
+        return writer.lines();
+    }
+
+    private boolean streamDay(DayLog log, LogQuery query, LogLineWriter writer) throws IOException {
+        if (log.archive() != null) {
+            return scanArchive(log, query, writer);
+        }
+        Path path = log.plain();
+        LogFilter filter = LogFilter.of(query.level(), query.from(), query.to());
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+            ScanPlan plan = plan(path, source, query);
+            LogFilter rangeFilter = plan.exact() ? LogFilter.everyLine() : filter;
+            for (LogTimeIndex.Range range : plan.ranges()) {
+                if (!logExtractor.forEachMatch(source, range.start(), range.end(), rangeFilter, writer)) {
+                    return false;
+                }
+            }
+            return logExtractor.forEachMatch(source, plan.coveredLength(), source.size(), filter, writer);
+        }
+    }
+
+    private Path cachedResult(LogQuery query) {
+        if (!query.isClosedDay()) {
+            return null;
+        }
+        ExportResultCache.Key key = cacheKey(query);
+        return key == null ? null : resultCache.get(key);
+    }
+
+    // The newest modification time and the total size of the query's files identify their
+    // content well enough to detect a replaced or rewritten day.
+    private ExportResultCache.Key cacheKey(LogQuery query) {
+        List<DayLog> logs = dayLogs(query);
+        if (logs.isEmpty()) {
+            return null;
+        }
+        long lastModified = 0;
+        long size = 0;
         try {
-            int start = 20;
-            int end = line.indexOf(" ", start);
-            if (end == -1) return "";
-            return line.substring(start, end).trim();
-        } catch (StringIndexOutOfBoundsException e) {
-            logger.warn("Could not extract log level from line: {}", line);
-            return "";
+            for (DayLog log : logs) {
+                lastModified = Math.max(lastModified, Files.getLastModifiedTime(log.file()).toMillis());
+                size += Files.size(log.file());
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return new ExportResultCache.Key(query, lastModified, size);
+    }
+
+    private static String describeDays(LogQuery query) {
+        return query.date().equals(query.endDate()) ? query.date().toString()
+                : query.date() + ".." + query.endDate();
+    }
+
+    private LogTask newTask(String status) {
+        LogTask task = new LogTask();
+        task.setId(UUID.randomUUID().toString());
+        task.setStatus(status);
+        register(task);
+        return task;
+    }
+
+    private void register(LogTask task) {
+        tasks.put(task);
+        if (tasks.isOverLimit()) {
+            sweepTasks();
+        }
+    }
+
+    private static boolean isActive(LogTask task) {
+        String status = task.getStatus();
+        return "PENDING".equals(status) || "RUNNING".equals(status);
+    }
+
+    private Path logFile(LocalDate date) {
+        return Paths.get(String.format(logDir + "/" + LOG_FILE_PATTERN, date.toString()));
+    }
+
+    // Exports and their parts live in their own directory so files of an earlier run can be
+    // found again.
+    private Path exportFile(String prefix, String suffix) throws IOException {
+        Files.createDirectories(exportDir);
+        return Files.createTempFile(exportDir, prefix, suffix);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -1,25 +1,245 @@
 package com.example.javalabs.services;
 
+import com.example.javalabs.counters.HeavyHitters;
+import com.example.javalabs.counters.SlidingWindowCounter;
+import com.example.javalabs.models.VisitRates;
+import com.example.javalabs.repositories.VisitCounterJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Visit counts per route template such as {@code /api/freelancers/{id}}. Counting an existing
+ * route is a map lookup plus a {@link LongAdder} increment, so hot routes do not contend and
+ * nothing is allocated. At most {@code maxRoutes} routes get their own counter; visits to any
+ * further route are counted under {@link #OTHER}.
+ *
+ * <p>Besides the lifetime total each route keeps a {@link SlidingWindowCounter} of 5 second
+ * buckets for its rates over the last 1, 5 and 15 minutes. The concrete request URIs, whose
+ * number is unbounded, go into a {@link HeavyHitters} sketch that reports the hottest ones.
+ *
+ * <p>Totals survive restarts: every {@code visits.flush-interval} the visits counted since the
+ * last flush are added to the {@code visit_counters} table in one statement, and the stored
+ * totals are added back on startup. Counting never waits for a flush; visits of a failed flush
+ * are sent with the next one, and those after the last flush before a crash are lost. Rates and
+ * hot URIs are not persisted. Flushing starts once the restore has been attempted.
+ */
 @Service
 public class VisitCounterService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VisitCounterService.class);
 
-    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    public static final String OTHER = "(other)";
 
-    public void incrementVisit(String url) {
-        counters.computeIfAbsent(url, k -> new AtomicLong(0)).incrementAndGet();
+    private static final long BUCKET_MILLIS = 5_000;
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final int BUCKETS = (int) (15 * MINUTE_MILLIS / BUCKET_MILLIS);
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+
+    private final ConcurrentHashMap<String, RouteCounter> counters = new ConcurrentHashMap<>();
+    private final RouteCounter overflow = new RouteCounter();
+    private final int maxRoutes;
+    private final HeavyHitters hotUris;
+    private final VisitCounterJdbcRepository repository;
+    // Written under the lock, read by metrics without it.
+    private volatile long flushes;
+    private volatile long flushFailures;
+    private volatile long flushNanos;
+    // Set once restore() has run, whether or not it succeeded; flush() does nothing before.
+    private volatile boolean restored;
+
+    public VisitCounterService(VisitCounterJdbcRepository repository,
+                               @Value("${visits.max-routes:256}") int maxRoutes,
+                               @Value("${visits.hot-uris.capacity:100}") int hotUriCapacity) {
+        this.repository = repository;
+        this.maxRoutes = maxRoutes;
+        this.hotUris = new HeavyHitters(SKETCH_DEPTH, SKETCH_WIDTH, hotUriCapacity);
+    }
+
+    /**
+     * Counts a visit to the route, or under {@link #OTHER} if the route is {@code null} or
+     * {@link #OTHER} itself.
+     */
+    public void incrementVisit(String route) {
+        RouteCounter counter = route == null || OTHER.equals(route) ? overflow : counters.get(route);
+        if (counter == null) {
+            counter = counterFor(route);
+        }
+        counter.total.increment();
+        counter.window.increment(System.currentTimeMillis());
+    }
+
+    /**
+     * Counts a visit to a concrete URI such as {@code /api/freelancers/42} for
+     * {@link #getHotUris(int)}.
+     */
+    public void recordUri(String uri) {
+        hotUris.add(uri);
+    }
+
+    public long getVisitCount(String route) {
+        RouteCounter counter = OTHER.equals(route) ? overflow : counters.get(route);
+        return counter != null ? counter.total.sum() : 0;
     }
 
-    public long getVisitCount(String url) {
-        AtomicLong counter = counters.get(url);
-        return counter != null ? counter.get() : 0;
+    /**
+     * A snapshot of all counts, with visits to routes beyond the limit under {@link #OTHER}.
+     */
+    public Map<String, Long> getAllCounters() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counters.forEach((route, counter) -> counts.put(route, counter.total.sum()));
+        long other = overflow.total.sum();
+        if (other > 0) {
+            counts.put(OTHER, other);
+        }
+        return counts;
     }
 
-    public ConcurrentHashMap<String, AtomicLong> getAllCounters() {
-        return counters;
+    public Map<String, VisitRates> getAllRates() {
+        long now = System.currentTimeMillis();
+        Map<String, VisitRates> rates = new LinkedHashMap<>();
+        counters.forEach((route, counter) -> rates.put(route, counter.rates(now)));
+        if (overflow.total.sum() > 0) {
+            rates.put(OTHER, overflow.rates(now));
+        }
+        return rates;
+    }
+
+    /**
+     * The most visited URIs of late, most visited first, with their approximate and slowly
+     * decaying visit counts.
+     */
+    public List<HeavyHitters.Entry> getHotUris(int limit) {
+        return hotUris.top(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${visits.hot-uris.decay-interval:PT1M}")
+    public void decayHotUris() {
+        hotUris.decay();
+    }
+
+    /**
+     * Adds the stored totals to the counters. Routes restored this way keep their own counter
+     * even if they exceed {@code maxRoutes}.
+     *
+     * <p>A flush before the restore would make the restored totals include visits that are
+     * already counted, so flushing waits for it. If the totals cannot be read the counters start
+     * from zero and flushing is enabled anyway: flushes only add the visits counted since the
+     * last one, so the stored totals stay correct, and only the counts shown by this instance
+     * miss the earlier visits. Waiting for a restore that may never succeed would instead lose
+     * every visit of this run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restore() {
+        try {
+            Map<String, Long> stored = repository.findAll();
+            stored.forEach((route, visits) -> {
+                RouteCounter counter = OTHER.equals(route) ? overflow
+                        : counters.computeIfAbsent(route, k -> new RouteCounter());
+                counter.total.add(visits);
+                counter.flushed += visits;
+            });
+            LOGGER.info("Restored visit counters of {} routes", stored.size());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not restore visit counters, counting from zero", e);
+        } finally {
+            restored = true;
+        }
+    }
+
+    /**
+     * Writes the visits counted since the last successful flush. The statement has one row per
+     * route that changed, so its cost is bounded by {@code maxRoutes}. Does nothing until
+     * {@link #restore()} has run.
+     */
+    @Scheduled(fixedDelayString = "${visits.flush-interval:PT30S}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (!restored) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, Long> deltas = new HashMap<>();
+        counters.forEach((route, counter) -> counter.prepareFlush(route, deltas));
+        overflow.prepareFlush(OTHER, deltas);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            repository.addVisits(deltas);
+        } catch (RuntimeException e) {
+            flushFailures++;
+            LOGGER.warn("Could not flush visit counters of {} routes, retrying with the next flush",
+                        deltas.size(), e);
+            return;
+        }
+        counters.values().forEach(RouteCounter::completeFlush);
+        overflow.completeFlush();
+        long nanos = System.nanoTime() - start;
+        flushes++;
+        flushNanos += nanos;
+        LOGGER.debug("Flushed visit counters of {} routes in {} ms", deltas.size(), nanos / 1_000_000);
+    }
+
+    public long getFlushCount() {
+        return flushes;
+    }
+
+    public double getFlushMillis() {
+        return flushNanos / 1_000_000.0;
+    }
+
+    public long getFlushFailures() {
+        return flushFailures;
+    }
+
+    // Slow path for a route seen for the first time. The size check races with other new
+    // routes, so the map can exceed the limit by the number of concurrent callers.
+    private RouteCounter counterFor(String route) {
+        if (counters.size() >= maxRoutes) {
+            RouteCounter counter = counters.get(route);
+            return counter != null ? counter : overflow;
+        }
+        return counters.computeIfAbsent(route, k -> new RouteCounter());
+    }
+
+    private static final class RouteCounter {
+        private final LongAdder total = new LongAdder();
+        private final SlidingWindowCounter window = new SlidingWindowCounter(BUCKET_MILLIS, BUCKETS);
+        // Only used under the service's lock: the total as of the last successful flush and as
+        // of the flush in progress.
+        private long flushed;
+        private long flushing;
+
+        void prepareFlush(String route, Map<String, Long> deltas) {
+            flushing = total.sum();
+            if (flushing != flushed) {
+                // Merged, not put, so a delta already collected under the same key is kept.
+                deltas.merge(route, flushing - flushed, Long::sum);
+            }
+        }
+
+        void completeFlush() {
+            flushed = flushing;
+        }
+
+        VisitRates rates(long now) {
+            return new VisitRates(total.sum(),
+                                  window.rate(now, MINUTE_MILLIS),
+                                  window.rate(now, 5 * MINUTE_MILLIS),
+                                  window.rate(now, 15 * MINUTE_MILLIS));
+        }
     }
-}
\ No newline at end of file
+}
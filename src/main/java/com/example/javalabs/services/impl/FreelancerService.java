@@ -1,7 +1,12 @@
 package com.example.javalabs.services.impl;
 
+import com.example.javalabs.models.BulkUpsertResult;
 import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerPage;
+import com.example.javalabs.models.FreelancerSearch;
+import com.example.javalabs.models.FreelancerSnapshot;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FreelancerService {
     Freelancer createFreelancer(Freelancer freelancer);
@@ -20,7 +25,13 @@ public interface FreelancerService {
 
     void deleteSkillFromFreelancer(Long freelancerId, Long skillId);
 
-    List<Freelancer> getFreelancers(String category, String skillName);
+    List<FreelancerSnapshot> getFreelancers(String category, String skillName);
 
-    List<Freelancer> bulkUpsertFreelancers(List<Freelancer> freelancers);
+    List<FreelancerSnapshot> searchFreelancers(FreelancerSearch search);
+
+    FreelancerPage getFreelancersPage(String category, String skillName, Long afterId, int limit);
+
+    void streamFreelancers(String category, String skillName, Consumer<FreelancerSnapshot> consumer);
+
+    BulkUpsertResult bulkUpsertFreelancers(List<Freelancer> freelancers);
 }
\ No newline at end of file
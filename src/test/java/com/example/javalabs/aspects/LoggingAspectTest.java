@@ -1,52 +1,85 @@
 package com.example.javalabs.aspects;
 
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class LoggingAspectTest {
 
     private LoggingAspect loggingAspect;
-    private JoinPoint joinPoint;
+    private ProceedingJoinPoint joinPoint;
     private Signature signature;
-    private Logger logger;
 
     @BeforeEach
     void setUp() {
-        loggingAspect = new LoggingAspect();
-        joinPoint = mock(JoinPoint.class);
+        loggingAspect = new LoggingAspect(new LoggingAspectProperties(0.0, Map.of(), 40, null));
+        joinPoint = mock(ProceedingJoinPoint.class);
         signature = mock(Signature.class);
-        logger = LoggerFactory.getLogger(LoggingAspect.class);
         when(joinPoint.getSignature()).thenReturn(signature);
         when(signature.getName()).thenReturn("testMethod");
     }
 
     @Test
-    void logSuccessfulExecution_logsMethodCall() {
-        Object[] args = new Object[]{"arg1", 123};
-        Object result = "success";
-        when(joinPoint.getArgs()).thenReturn(args);
+    void logExecution_doesNotRenderUnsampledPayload() throws Throwable {
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"arg1", 123});
+        when(joinPoint.proceed()).thenReturn("success");
+
+        assertEquals("success", loggingAspect.logExecution(joinPoint));
+
+        verify(joinPoint, never()).getArgs();
+    }
 
-        loggingAspect.logSuccessfulExecution(joinPoint, result);
+    @Test
+    void logExecution_logsFailureArgsOnlyWhenSampled() throws Throwable {
+        RuntimeException ex = new RuntimeException("Test exception");
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"arg1", 123});
+        when(joinPoint.proceed()).thenThrow(ex);
 
+        assertSame(ex, assertThrows(RuntimeException.class, () -> loggingAspect.logExecution(joinPoint)));
         verify(joinPoint).getSignature();
+        verify(joinPoint, never()).getArgs();
+
+        LoggingAspect sampling = new LoggingAspect(new LoggingAspectProperties(1.0, Map.of(), 40, null));
+        assertSame(ex, assertThrows(RuntimeException.class, () -> sampling.logExecution(joinPoint)));
         verify(joinPoint).getArgs();
     }
 
     @Test
-    void logException_logsMethodFailure() {
-        Object[] args = new Object[]{"arg1", 123};
-        Throwable ex = new RuntimeException("Test exception");
-        when(joinPoint.getArgs()).thenReturn(args);
+    void resultSize_countsItemsOfTheBody() {
+        assertEquals(3, LoggingAspect.resultSize(ResponseEntity.ok(List.of(1, 2, 3))));
+        assertEquals(0, LoggingAspect.resultSize(ResponseEntity.noContent().build()));
+        assertEquals(0, LoggingAspect.resultSize(null));
+        assertEquals(1, LoggingAspect.resultSize("success"));
+    }
 
-        loggingAspect.logException(joinPoint, ex);
+    @Test
+    void describe_capsLargeCollections() {
+        List<Integer> values = IntStream.range(0, 10_000).boxed().toList();
 
-        verify(joinPoint).getSignature();
-        verify(joinPoint).getArgs();
+        String description = loggingAspect.describe(values);
+
+        assertTrue(description.startsWith("[0, 1, 2"));
+        assertTrue(description.length() < 80, description);
+        assertEquals("[1, 2]", loggingAspect.describe(List.of(1, 2)));
+    }
+
+    @Test
+    void sampleRates_overrideTheDefaultPerMethod() {
+        LoggingAspectProperties properties = new LoggingAspectProperties(0.5, Map.of("bulkUpsertFreelancers", 0.0), null, null);
+
+        assertEquals(0.0, properties.sampleRate("bulkUpsertFreelancers"));
+        assertEquals(0.5, properties.sampleRate("getFreelancerById"));
+        assertEquals(500, properties.maxPayloadChars());
+        assertEquals(Duration.ofSeconds(1), properties.slowCall());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package com.example.javalabs.benchmarks;
+
+import com.example.javalabs.logs.LogExtractor;
+import com.example.javalabs.logs.LogFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares the former {@code Files.lines} based LogService extraction with {@link LogExtractor}
+ * on a generated daily log file. Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.javalabs.benchmarks.LogExtractionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LogExtractionBenchmark {
+    private static final int SCAN_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final String[] LEVELS = {"INFO ", "DEBUG", "WARN ", "ERROR"};
+
+    @Param({"256"})
+    public int sizeMb;
+
+    @Param({"ERROR", "INFO"})
+    public String level;
+
+    private Path logFile;
+    private Path output;
+    private final ExecutorService scanPool = Executors.newFixedThreadPool(SCAN_THREADS);
+    private final LogExtractor extractor = new LogExtractor(scanPool, SCAN_THREADS, LogExtractor.DEFAULT_CHUNK_SIZE);
+
+    @Setup(Level.Trial)
+    public void createLogFile() throws IOException {
+        logFile = Files.createTempFile("bench-app-", ".log");
+        output = Files.createTempFile("bench-out-", ".log");
+        long target = sizeMb * 1024L * 1024L;
+        long written = 0;
+        int i = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile)) {
+            while (written < target) {
+                String line = String.format("2025-04-15 10:%02d:%02d %s [http-nio-8088-exec-%d] "
+                                            + "c.e.j.services.FreelancerServiceImpl - Request %d handled%n",
+                                            (i / 60) % 60, i % 60, LEVELS[i % LEVELS.length], i % 10, i);
+                writer.write(line);
+                written += line.length();
+                i++;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(output);
+        scanPool.shutdown();
+    }
+
+    @Benchmark
+    public long filesLines() throws IOException {
+        List<String> logs;
+        try (Stream<String> lines = Files.lines(logFile)) {
+            logs = lines.filter(line -> !line.trim().isEmpty())
+                    .filter(line -> line.length() >= 25)
+                    .filter(line -> extractLogLevel(line).equalsIgnoreCase(level))
+                    .collect(Collectors.toList());
+        }
+        Files.write(output, logs);
+        return logs.size();
+    }
+
+    @Benchmark
+    public long mappedParallel() throws IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return extractor.extract(logFile, LogFilter.of(level), out).linesMatched();
+        }
+    }
+
+    private static String extractLogLevel(String line) {
+        int end = line.indexOf(" ", 20);
+        return end == -1 ? "" : line.substring(20, end).trim();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LogExtractionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.javalabs.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import com.example.javalabs.logs.RecordingRollingFileAppender;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of request threads logging the former per-request INFO line through the default
+ * profile's synchronous file appender and through the prod profile's {@link AsyncAppender},
+ * configured as in {@code logback-spring.xml}, compared with recording a timer instead. Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.javalabs.benchmarks.LoggingProfileBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class LoggingProfileBenchmark {
+    private static final long NANOS = 1_234;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private Path directory;
+    private LoggerContext context;
+    private Logger logger;
+    private Timer timer;
+
+    @Setup(Level.Trial)
+    public void configureLogging() throws IOException {
+        directory = Files.createTempDirectory("bench-logs-");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+
+        RecordingRollingFileAppender file = new RecordingRollingFileAppender();
+        file.setContext(context);
+        file.setName("DAILY_FILE");
+        file.setFile(directory.resolve("app.log").toString());
+        TimeBasedRollingPolicy<ILoggingEvent> policy = new TimeBasedRollingPolicy<>();
+        policy.setContext(context);
+        policy.setParent(file);
+        policy.setFileNamePattern(directory + "/app-%d{yyyy-MM-dd}.log.gz");
+        policy.setMaxHistory(30);
+        policy.start();
+        file.setRollingPolicy(policy);
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if ("prod".equals(profile)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setIncludeCallerData(false);
+            async.setNeverBlock(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        logger = context.getLogger("com.example.javalabs.services.FreelancerServiceImpl");
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+
+        timer = Timer.builder("freelancers.search").tag("source", "cache").register(new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteLogs() throws IOException {
+        context.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void infoLine() {
+        logger.info("Data retrieved from cache in {} ns for search: {}", NANOS, "category=dev");
+    }
+
+    @Benchmark
+    public void warnLine() {
+        logger.warn("Could not flush visit counters of {} routes, retrying with the next flush", NANOS);
+    }
+
+    // Does not depend on the profile; the baseline for what replaced the INFO line.
+    @Benchmark
+    public void recordTimer() {
+        timer.record(NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingProfileBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.javalabs.cache;
 
 import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerSearch;
+import com.example.javalabs.models.FreelancerSearch.SkillMatch;
+import com.example.javalabs.models.FreelancerSearch.SortDirection;
+import com.example.javalabs.models.FreelancerSearch.SortField;
+import com.example.javalabs.models.FreelancerSnapshot;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,42 +13,44 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 class FreelancerCacheTest {
 
     private FreelancerCache freelancerCache;
-    private Freelancer freelancer;
+    private FreelancerSnapshot freelancer;
 
     @BeforeEach
     void setUp() {
         freelancerCache = new FreelancerCache();
-        freelancer = new Freelancer();
-        freelancer.setId(1L);
-        freelancer.setName("Alice");
+        Freelancer entity = new Freelancer();
+        entity.setId(1L);
+        entity.setName("Alice");
+        freelancer = FreelancerSnapshot.from(entity);
     }
 
     @Test
     void getFreelancers_cacheHit_returnsFreelancers() {
-        List<Freelancer> freelancers = Collections.singletonList(freelancer);
+        List<FreelancerSnapshot> freelancers = Collections.singletonList(freelancer);
         freelancerCache.putFreelancers("design", "Java", freelancers);
 
-        List<Freelancer> result = freelancerCache.getFreelancers("design", "Java");
+        List<FreelancerSnapshot> result = freelancerCache.getFreelancers("design", "Java");
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.size());
-        Assertions.assertEquals("Alice", result.get(0).getName());
+        Assertions.assertEquals("Alice", result.get(0).name());
     }
 
     @Test
     void getFreelancers_cacheMiss_returnsNull() {
-        List<Freelancer> result = freelancerCache.getFreelancers("design", "Java");
+        List<FreelancerSnapshot> result = freelancerCache.getFreelancers("design", "Java");
 
         Assertions.assertNull(result);
     }
 
     @Test
     void putFreelancers_withinLimit_addsToCache() {
-        List<Freelancer> freelancers = Collections.singletonList(freelancer);
+        List<FreelancerSnapshot> freelancers = Collections.singletonList(freelancer);
 
         freelancerCache.putFreelancers("design", "Java", freelancers);
 
@@ -52,19 +59,17 @@ class FreelancerCacheTest {
     }
 
     @Test
-    void putFreelancers_exceedsListLimit_truncatesList() {
-        List<Freelancer> largeList = new ArrayList<>();
+    void putFreelancers_exceedsListLimit_skipsCaching() {
+        List<FreelancerSnapshot> largeList = new ArrayList<>();
         for (int i = 0; i < 1500; i++) {
             Freelancer f = new Freelancer();
             f.setId((long) i);
-            largeList.add(f);
+            largeList.add(FreelancerSnapshot.from(f));
         }
 
         freelancerCache.putFreelancers("design", "Java", largeList);
 
-        List<Freelancer> result = freelancerCache.getFreelancers("design", "Java");
-        Assertions.assertNotNull(result);
-        Assertions.assertEquals(1000, result.size());
+        Assertions.assertFalse(freelancerCache.containsKey("design", "Java"));
     }
 
     @Test
@@ -109,4 +114,105 @@ class FreelancerCacheTest {
         Assertions.assertTrue(freelancerCache.containsKey(null, null));
         Assertions.assertNotNull(freelancerCache.getFreelancers(null, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void evictFreelancer_removesOnlyEntriesContainingFreelancer() {
+        Freelancer other = new Freelancer();
+        other.setId(2L);
+        freelancerCache.putFreelancers("design", "Java", Collections.singletonList(freelancer));
+        freelancerCache.putFreelancers("dev", "Python", Collections.singletonList(FreelancerSnapshot.from(other)));
+
+        freelancerCache.evictFreelancer(1L);
+
+        Assertions.assertFalse(freelancerCache.containsKey("design", "Java"));
+        Assertions.assertTrue(freelancerCache.containsKey("dev", "Python"));
+    }
+
+    @Test
+    void evictMatching_removesQueriesTheFreelancerCouldJoin() {
+        freelancerCache.putFreelancers("design", "Java", Collections.emptyList());
+        freelancerCache.putFreelancers("design", "Python", Collections.emptyList());
+        freelancerCache.putFreelancers("design", null, Collections.emptyList());
+        freelancerCache.putFreelancers(null, "Java", Collections.emptyList());
+        freelancerCache.putFreelancers("dev", "Java", Collections.emptyList());
+
+        freelancerCache.evictMatching("design", Set.of("Java"));
+
+        Assertions.assertFalse(freelancerCache.containsKey("design", "Java"));
+        Assertions.assertFalse(freelancerCache.containsKey("design", null));
+        Assertions.assertFalse(freelancerCache.containsKey(null, "Java"));
+        Assertions.assertTrue(freelancerCache.containsKey("design", "Python"));
+        Assertions.assertTrue(freelancerCache.containsKey("dev", "Java"));
+    }
+
+    @Test
+    void putFreelancers_afterInvalidation_skipsStaleFill() {
+        long generation = freelancerCache.generation();
+        freelancerCache.evictFreelancer(1L);
+
+        boolean stored = freelancerCache.putFreelancers("design", "Java",
+                                                        Collections.singletonList(freelancer), generation);
+
+        Assertions.assertFalse(stored);
+        Assertions.assertFalse(freelancerCache.containsKey("design", "Java"));
+    }
+
+    @Test
+    void getStats_countsHitsMissesAndEvictions() {
+        freelancerCache.getFreelancers("design", "Java");
+        freelancerCache.putFreelancers("design", "Java", Collections.singletonList(freelancer));
+        freelancerCache.getFreelancers("design", "Java");
+        for (int i = 0; i < 100; i++) {
+            freelancerCache.putFreelancers("category" + i, "skill" + i, Collections.emptyList());
+        }
+
+        FreelancerCache.CacheStats stats = freelancerCache.getStats();
+
+        Assertions.assertEquals(1, stats.hits());
+        Assertions.assertEquals(1, stats.misses());
+        Assertions.assertEquals(1, stats.evictions());
+        Assertions.assertEquals(100, stats.size());
+        Assertions.assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    void getStats_countsClears() {
+        freelancerCache.putFreelancers("design", "Java", Collections.singletonList(freelancer));
+        freelancerCache.clear();
+        freelancerCache.clear();
+
+        FreelancerCache.CacheStats stats = freelancerCache.getStats();
+
+        Assertions.assertEquals(2, stats.clears());
+        Assertions.assertEquals(1, stats.invalidations());
+        Assertions.assertEquals(0, stats.size());
+    }
+
+    @Test
+    void search_equivalentSpecs_shareEntry() {
+        FreelancerSearch search = new FreelancerSearch("dev", List.of("SQL", "Java"), SkillMatch.ANY,
+                                                       4.0, null, null, 50.0, SortField.RATING,
+                                                       SortDirection.DESC, 10);
+        freelancerCache.putFreelancers(search, Collections.singletonList(freelancer), freelancerCache.generation());
+
+        FreelancerSearch equivalent = new FreelancerSearch(" dev ", List.of("Java", "SQL", "Java", " "),
+                                                           SkillMatch.ANY, 4.0, null, null, 50.0,
+                                                           SortField.RATING, SortDirection.DESC, 10);
+
+        Assertions.assertNotNull(freelancerCache.getFreelancers(equivalent));
+        Assertions.assertFalse(freelancerCache.containsKey("dev", null));
+    }
+
+    @Test
+    void evictMatching_anySkillOfMultiSkillSearch_evictsIt() {
+        FreelancerSearch search = new FreelancerSearch("dev", List.of("Java", "SQL"), SkillMatch.ALL,
+                                                       null, null, null, null, null, null, 10);
+        freelancerCache.putFreelancers(search, Collections.singletonList(freelancer), freelancerCache.generation());
+
+        freelancerCache.evictMatching("dev", Set.of("Python"));
+        Assertions.assertNotNull(freelancerCache.getFreelancers(search));
+
+        freelancerCache.evictMatching("dev", Set.of("SQL"));
+        Assertions.assertNull(freelancerCache.getFreelancers(search));
+    }
+}
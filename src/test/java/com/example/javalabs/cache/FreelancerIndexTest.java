@@ -0,0 +1,90 @@
+package com.example.javalabs.cache;
+
+import com.example.javalabs.cache.FreelancerIndex.Document;
+import com.example.javalabs.repositories.FreelancerJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FreelancerIndexTest {
+
+    private FreelancerIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        FreelancerJdbcRepository repository = mock(FreelancerJdbcRepository.class);
+        doAnswer(invocation -> {
+            BiConsumer<Long, String> consumer = invocation.getArgument(0);
+            consumer.accept(3L, "Dev");
+            consumer.accept(1L, "Dev");
+            consumer.accept(2L, "Design");
+            return null;
+        }).when(repository).forEachCategory(any());
+        doAnswer(invocation -> {
+            BiConsumer<Long, String> consumer = invocation.getArgument(0);
+            consumer.accept(1L, "Java");
+            consumer.accept(3L, "Java");
+            consumer.accept(3L, "SQL");
+            consumer.accept(2L, "Figma");
+            return null;
+        }).when(repository).forEachSkillName(any());
+        index = new FreelancerIndex(repository, true);
+        index.load();
+    }
+
+    @Test
+    void find_intersectsCategoryAndSkill() {
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[] {1, 3}, index.find("Dev", "Java"));
+        assertArrayEquals(new long[] {3}, index.find("Dev", "SQL"));
+        assertArrayEquals(new long[] {1, 2, 3}, index.find(null, null));
+        assertArrayEquals(new long[] {1, 3}, index.find(null, "Java"));
+        assertArrayEquals(new long[0], index.find("Design", "Java"));
+        assertArrayEquals(new long[0], index.find("Unknown", null));
+    }
+
+    @Test
+    void put_replacesCategoryAndSkills() {
+        index.put(new Document(1L, "Design", Set.of("Figma")));
+
+        assertArrayEquals(new long[] {3}, index.find("Dev", null));
+        assertArrayEquals(new long[] {1, 2}, index.find("Design", "Figma"));
+        assertArrayEquals(new long[] {3}, index.find(null, "Java"));
+    }
+
+    @Test
+    void merge_keepsExistingSkills() {
+        index.merge(List.of(new Document(3L, "Dev", Set.of("Go")), new Document(4L, "Dev", Set.of("Go"))));
+
+        assertArrayEquals(new long[] {3, 4}, index.find("Dev", "Go"));
+        assertArrayEquals(new long[] {3}, index.find("Dev", "SQL"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_dropsFreelancerFromEveryPosting() {
+        index.remove(3L);
+
+        assertArrayEquals(new long[] {1}, index.find("Dev", "Java"));
+        assertArrayEquals(new long[0], index.find(null, "SQL"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void disabledIndex_isNeverReady() {
+        FreelancerIndex disabled = new FreelancerIndex(mock(FreelancerJdbcRepository.class), false);
+        disabled.load();
+        disabled.put(new Document(1L, "Dev", Set.of()));
+
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.javalabs.cache;
+
+import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class FreelancerResponseCacheTest {
+
+    private FreelancerCache freelancerCache;
+    private FreelancerResponseCache responseCache;
+    private List<FreelancerSnapshot> freelancers;
+
+    @BeforeEach
+    void setUp() {
+        freelancerCache = new FreelancerCache();
+        responseCache = new FreelancerResponseCache(new ObjectMapper(), freelancerCache);
+        Freelancer freelancer = new Freelancer("Alice", "design", 4.0, 20.0);
+        freelancer.setId(1L);
+        freelancers = List.of(FreelancerSnapshot.from(freelancer));
+    }
+
+    @Test
+    void encode_cachedSource_reusesEncodedBytes() {
+        freelancerCache.putFreelancers("design", "Java", freelancers);
+
+        FreelancerResponseCache.EncodedResponse first = responseCache.encode("design", "Java", freelancers);
+        FreelancerResponseCache.EncodedResponse second = responseCache.encode("design", "Java", freelancers);
+
+        Assertions.assertSame(first.body(), second.body());
+        Assertions.assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"name\":\"Alice\""));
+        Assertions.assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void encode_uncachedSource_isNotStored() {
+        responseCache.encode("design", "Java", freelancers);
+
+        Assertions.assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void invalidation_dropsEncodedResponse() {
+        freelancerCache.putFreelancers("design", "Java", freelancers);
+        responseCache.encode("design", "Java", freelancers);
+
+        freelancerCache.evictFreelancer(1L);
+
+        Assertions.assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void matches_handlesListsWeakTagsAndWildcard() {
+        FreelancerResponseCache.EncodedResponse response =
+                new FreelancerResponseCache.EncodedResponse(new byte[0], "\"abc\"");
+
+        Assertions.assertTrue(response.matches("\"xyz\", \"abc\""));
+        Assertions.assertTrue(response.matches("W/\"abc\""));
+        Assertions.assertTrue(response.matches("*"));
+        Assertions.assertFalse(response.matches("\"xyz\""));
+        Assertions.assertFalse(response.matches(null));
+    }
+}
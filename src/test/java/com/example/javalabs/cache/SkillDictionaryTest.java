@@ -0,0 +1,49 @@
+package com.example.javalabs.cache;
+
+import com.example.javalabs.repositories.SkillJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+class SkillDictionaryTest {
+
+    private SkillJdbcRepository skillJdbcRepository;
+    private SkillDictionary skillDictionary;
+
+    @BeforeEach
+    void setUp() {
+        skillJdbcRepository = mock(SkillJdbcRepository.class);
+        when(skillJdbcRepository.findAllIds()).thenReturn(Map.of("Java", 1L, "SQL", 2L));
+        skillDictionary = new SkillDictionary(skillJdbcRepository);
+        skillDictionary.warmUp();
+    }
+
+    @Test
+    void resolveAll_knownNames_doesNotTouchDatabase() {
+        Map<String, Long> ids = skillDictionary.resolveAll(List.of("Java", "SQL"));
+
+        assertEquals(Map.of("Java", 1L, "SQL", 2L), ids);
+        verify(skillJdbcRepository, never()).insertOrGet(anySet());
+    }
+
+    @Test
+    void resolveAll_missingNames_insertsThemInOneCall() {
+        when(skillJdbcRepository.insertOrGet(Set.of("Go", "Rust"))).thenReturn(Map.of("Go", 3L, "Rust", 4L));
+
+        Map<String, Long> ids = skillDictionary.resolveAll(List.of("Java", "Go", "Rust"));
+
+        assertEquals(Map.of("Java", 1L, "Go", 3L, "Rust", 4L), ids);
+        verify(skillJdbcRepository, times(1)).insertOrGet(anySet());
+        // Without a transaction the new names are cached immediately.
+        assertEquals(4, skillDictionary.size());
+        assertEquals(3L, skillDictionary.resolve("Go"));
+        verify(skillJdbcRepository, times(1)).insertOrGet(anySet());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.javalabs.counters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void reportsTheMostFrequentKeysAmongManyRareOnes() {
+        HeavyHitters hitters = new HeavyHitters(4, 1024, 5);
+        for (int i = 0; i < 100_000; i++) {
+            hitters.add("/api/freelancers/" + (1_000_000 + i));
+            if (i % 10 == 0) {
+                hitters.add("/api/freelancers/1");
+            }
+            if (i % 20 == 0) {
+                hitters.add("/api/freelancers/2");
+            }
+            if (i % 50 == 0) {
+                hitters.add("/api/freelancers/3");
+            }
+        }
+
+        List<HeavyHitters.Entry> top = hitters.top(3);
+        assertEquals(List.of("/api/freelancers/1", "/api/freelancers/2", "/api/freelancers/3"),
+                     top.stream().map(HeavyHitters.Entry::key).toList());
+        assertTrue(top.get(0).count() >= 10_000);
+        assertTrue(hitters.estimate("/api/freelancers/1") >= 10_000);
+    }
+
+    @Test
+    void decayLetsNewKeysOvertakeOldOnes() {
+        HeavyHitters hitters = new HeavyHitters(4, 256, 1);
+        for (int i = 0; i < 100; i++) {
+            hitters.add("old");
+        }
+        for (int i = 0; i < 4; i++) {
+            hitters.decay();
+        }
+        assertEquals(List.of(new HeavyHitters.Entry("old", 6)), hitters.top(10));
+        for (int i = 0; i < 10; i++) {
+            hitters.add("new");
+        }
+        assertEquals(List.of(new HeavyHitters.Entry("new", 10)), hitters.top(10));
+
+        for (int i = 0; i < 4; i++) {
+            hitters.decay();
+        }
+        assertTrue(hitters.top(10).isEmpty());
+    }
+
+    @Test
+    void concurrentAddsOfCandidatesAreNotLost() throws InterruptedException {
+        HeavyHitters hitters = new HeavyHitters(4, 1024, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    hitters.add("/api/freelancers/" + (i % 3));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<HeavyHitters.Entry> top = hitters.top(3);
+        assertEquals(3, top.size());
+        for (HeavyHitters.Entry entry : top) {
+            assertEquals(hitters.estimate(entry.key()), entry.count());
+        }
+    }
+
+    @Test
+    void estimatesNeverUndercount() {
+        HeavyHitters hitters = new HeavyHitters(2, 16, 4);
+        for (int i = 0; i < 1_000; i++) {
+            hitters.add("key" + (i % 100));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(hitters.estimate("key" + i) >= 10);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.javalabs.counters;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    @Test
+    void sumsBucketsInsideTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 60);
+        counter.increment(10_000);
+        counter.increment(10_500);
+        counter.increment(12_000);
+        counter.increment(15_999);
+
+        assertEquals(4, counter.sum(15_999, 60_000));
+        assertEquals(2, counter.sum(15_999, 4_000));
+        assertEquals(1, counter.sum(15_999, 1_000));
+        assertEquals(0, counter.sum(16_000, 1_000));
+        assertEquals(4.0 / 60, counter.rate(15_999, 60_000), 1e-9);
+    }
+
+    @Test
+    void reusedSlotsForgetOldBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        for (int i = 0; i < 5; i++) {
+            counter.increment(3_000);
+        }
+        counter.increment(13_000);
+
+        assertEquals(1, counter.sum(13_000, 10_000));
+        assertEquals(0, counter.sum(30_000, 10_000));
+    }
+
+    @Test
+    void windowIsCappedByTheRing() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        counter.increment(1_000);
+        counter.increment(20_000);
+
+        assertEquals(1, counter.sum(20_000, 60_000));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.javalabs.filters;
+
+import com.example.javalabs.repositories.VisitCounterJdbcRepository;
+import com.example.javalabs.services.VisitCounterService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VisitCounterFilterTest {
+
+    private final VisitCounterJdbcRepository repository = mock(VisitCounterJdbcRepository.class);
+    private final VisitCounterService service = new VisitCounterService(repository, 10, 10);
+    private final VisitCounterFilter filter = new VisitCounterFilter(service);
+    private final FilterChain chain = mock(FilterChain.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+
+    @Test
+    void countsMatchedRequestsByRouteTemplate() throws Exception {
+        filter.doFilter(request("/api/freelancers/42", "/api/freelancers/{id}"), response, chain);
+        filter.doFilter(request("/api/freelancers/43", "/api/freelancers/{id}"), response, chain);
+
+        assertEquals(Map.of("/api/freelancers/{id}", 2L), service.getAllCounters());
+        verify(chain, times(2)).doFilter(any(), eq(response));
+    }
+
+    @Test
+    void unmatchedRequestsShareTheOverflowCounter() throws Exception {
+        // The unmatched request comes first so that it would take the only route slot if it
+        // were counted as a route of its own.
+        VisitCounterService full = new VisitCounterService(repository, 1, 10);
+        VisitCounterFilter limited = new VisitCounterFilter(full);
+        limited.doFilter(request("/api/freelancers/x/y", null), response, chain);
+        limited.doFilter(request("/api/freelancers", "/api/freelancers"), response, chain);
+        limited.doFilter(request("/api/freelancers/{id}", "/api/freelancers/{id}"), response, chain);
+
+        assertEquals(Map.of("/api/freelancers", 1L, VisitCounterService.OTHER, 2L), full.getAllCounters());
+        full.restore();
+        full.flush();
+        verify(repository).addVisits(Map.of("/api/freelancers", 1L, VisitCounterService.OTHER, 2L));
+    }
+
+    @Test
+    void ignoresOtherPaths() throws Exception {
+        filter.doFilter(request("/api/logs", null), response, chain);
+
+        assertTrue(service.getAllCounters().isEmpty());
+        assertTrue(service.getHotUris(10).isEmpty());
+    }
+
+    private static HttpServletRequest request(String uri, String pattern) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn(uri);
+        when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn(pattern);
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.javalabs.logs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void put_evictsLeastRecentlyUsedAndDeletesItsFile() throws IOException {
+        ExportResultCache cache = new ExportResultCache(2, Long.MAX_VALUE);
+        ExportResultCache.Key info = key("INFO");
+        ExportResultCache.Key warn = key("WARN");
+        ExportResultCache.Key error = key("ERROR");
+        Path infoFile = export("info.log", 10);
+        Path warnFile = export("warn.log", 10);
+        Path errorFile = export("error.log", 10);
+
+        cache.put(info, infoFile);
+        cache.put(warn, warnFile);
+        assertEquals(infoFile, cache.get(info));
+        cache.put(error, errorFile);
+
+        assertNull(cache.get(warn));
+        assertFalse(Files.exists(warnFile));
+        assertEquals(infoFile, cache.get(info));
+        assertEquals(errorFile, cache.get(error));
+        assertEquals(20, cache.totalBytes());
+    }
+
+    @Test
+    void put_evictsOverByteLimit() throws IOException {
+        ExportResultCache cache = new ExportResultCache(10, 15);
+        Path infoFile = export("info.log", 10);
+        Path warnFile = export("warn.log", 10);
+
+        cache.put(key("INFO"), infoFile);
+        cache.put(key("WARN"), warnFile);
+
+        assertEquals(1, cache.size());
+        assertFalse(cache.contains(infoFile));
+        assertTrue(cache.contains(warnFile));
+    }
+
+    @Test
+    void get_dropsEntryWhoseFileIsGone() throws IOException {
+        ExportResultCache cache = new ExportResultCache(10, Long.MAX_VALUE);
+        Path file = export("info.log", 10);
+        cache.put(key("INFO"), file);
+
+        Files.delete(file);
+
+        assertNull(cache.get(key("INFO")));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    void get_missesWhenSourceChanged() throws IOException {
+        ExportResultCache cache = new ExportResultCache(10, Long.MAX_VALUE);
+        LogQuery query = LogQuery.parse("2025-04-15", "INFO", null, null);
+        cache.put(new ExportResultCache.Key(query, 1000, 500), export("info.log", 10));
+
+        assertNull(cache.get(new ExportResultCache.Key(query, 1000, 600)));
+    }
+
+    private static ExportResultCache.Key key(String level) {
+        return new ExportResultCache.Key(new LogQuery(LocalDate.of(2025, 4, 15), level, null, null), 1000, 500);
+    }
+
+    private Path export(String name, int bytes) throws IOException {
+        return Files.write(tempDir.resolve(name), new byte[bytes]);
+    }
+}
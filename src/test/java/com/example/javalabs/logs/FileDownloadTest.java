@@ -0,0 +1,117 @@
+package com.example.javalabs.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDownloadTest {
+
+    private static final String CONTENT = "2025-04-15 10:00:00 INFO  App started\n".repeat(100);
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(tempDir.resolve("export.log"), CONTENT);
+    }
+
+    @Test
+    void serve_range_returnsPartialContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 10-19/" + CONTENT.length(), response.getHeader("Content-Range"));
+        assertEquals(CONTENT.substring(10, 20), response.getContentAsString());
+    }
+
+    @Test
+    void serve_suffixRange_returnsTail() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=-5");
+
+        assertEquals(CONTENT.substring(CONTENT.length() - 5), serve(request).getContentAsString());
+    }
+
+    @Test
+    void serve_rangePastEnd_isNotSatisfiable() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=" + CONTENT.length() + "-");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */" + CONTENT.length(), response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void serve_staleIfRange_returnsWholeFile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=10-19");
+        request.addHeader("If-Range", "\"stale\"");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void serve_matchingIfRange_returnsPartialContent() throws IOException {
+        String etag = serve(new MockHttpServletRequest("GET", "/")).getHeader("ETag");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=0-3");
+        request.addHeader("If-Range", etag);
+
+        assertEquals(206, serve(request).getStatus());
+    }
+
+    @Test
+    void serve_acceptsGzip_compressesBody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Accept-Encoding", "deflate, gzip;q=0.8");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void serve_sendfileSupported_delegatesToContainer() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals((long) CONTENT.length(), request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void acceptsGzip_honoursZeroQuality() {
+        assertFalse(FileDownload.acceptsGzip("gzip;q=0"));
+        assertFalse(FileDownload.acceptsGzip("br"));
+        assertTrue(FileDownload.acceptsGzip("GZIP"));
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileDownload.serve(file, "text/plain;charset=UTF-8", request, response);
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.javalabs.logs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extract_smallChunks_keepsFileOrderAndFiltersLevel() throws IOException {
+        List<String> lines = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String level = i % 3 == 0 ? "ERROR" : "INFO ";
+            String line = String.format("2025-04-15 10:%02d:%02d %s [main] Line %d", i / 60, i % 60, level, i);
+            lines.add(line);
+            if (i % 3 == 0) {
+                expected.add(line);
+            }
+        }
+        Path source = tempDir.resolve("app.log");
+        Files.write(source, lines);
+
+        List<String> result = extract(new LogExtractor(new ForkJoinPool(4), 4, 256), source, "error");
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void extract_crlfAndShortLines_areNormalized() throws IOException {
+        Path source = tempDir.resolve("app.log");
+        Files.writeString(source, "2025-04-15 10:00:00 INFO  App started\r\n"
+                + "short\r\n"
+                + "                              \r\n"
+                + "2025-04-15 10:00:01 WARN  No trailing newline");
+
+        List<String> result = extract(new LogExtractor(), source, null);
+
+        assertEquals(List.of("2025-04-15 10:00:00 INFO  App started",
+                             "2025-04-15 10:00:01 WARN  No trailing newline"), result);
+    }
+
+    @Test
+    void forEachMatch_reportsProgressWhileNothingMatches() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            lines.add(String.format("2025-04-15 10:%02d:%02d INFO  [main] Line %d", i / 60 % 60, i % 60, i));
+        }
+        Path source = tempDir.resolve("app.log");
+        Files.write(source, lines);
+        int[] progress = new int[1];
+        LogExtractor.LineVisitor visitor = new LogExtractor.LineVisitor() {
+            @Override
+            public boolean visit(ByteBuffer buffer, int start, int end) {
+                throw new AssertionError("nothing matches");
+            }
+
+            @Override
+            public void progress() {
+                progress[0]++;
+            }
+        };
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            assertTrue(new LogExtractor().forEachMatch(channel, 0, channel.size(), LogFilter.of("ERROR"), visitor));
+        }
+
+        assertEquals(2, progress[0]);
+    }
+
+    private List<String> extract(LogExtractor extractor, Path source, String level) throws IOException {
+        Path target = tempDir.resolve("out.log");
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            extractor.extract(source, LogFilter.of(level), out);
+        }
+        return Files.readAllLines(target);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.javalabs.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogLineWriterTest {
+
+    @Test
+    void progress_flushesABufferedMatchAfterTheInterval() throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LogLineWriter writer = new LogLineWriter(out, LogLineWriter.Format.TEXT, 10);
+
+        writer.visit(line("first"), 0, 5);
+        writer.visit(line("second"), 0, 6);
+        assertEquals("first\n", out.toString(StandardCharsets.UTF_8));
+
+        Thread.sleep(120);
+        writer.progress();
+
+        assertEquals("first\nsecond\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer line(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.javalabs.logs;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRecordsTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 4, 15);
+    private static final String INFO = "2025-04-15 10:00:00 INFO  [main] c.e.App - started\n";
+    private static final String ERROR = "2025-04-15 10:01:00 ERROR [main] c.e.App - failed\n"
+            + "java.lang.IllegalStateException: boom\n\tat com.example.App.run(App.java:10)\n";
+    private static final String LATER = "2025-04-15 10:05:00 INFO  [main] c.e.App - recovered\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scan_selectsEventsByLevelAndTime() throws IOException {
+        Path log = writeLog();
+
+        LogRecords.Scan errors = LogRecords.scan(log, DATE, null, null, "error", Files.size(log));
+        assertEquals(1, errors.events());
+        assertEquals(List.of(new LogTimeIndex.Range(INFO.length(), INFO.length() + ERROR.length())), errors.ranges());
+        assertEquals(Files.size(log), errors.coveredLength());
+
+        LogRecords.Scan window = LogRecords.scan(log, DATE, LocalTime.of(10, 0), LocalTime.of(10, 5), null,
+                                                 Files.size(log));
+        assertEquals(2, window.events());
+        assertEquals(List.of(new LogTimeIndex.Range(0, INFO.length() + ERROR.length())), window.ranges());
+
+        assertTrue(LogRecords.scan(log, DATE, null, null, "FATAL", Files.size(log)).ranges().isEmpty());
+    }
+
+    @Test
+    void scan_withoutContiguousRecords_fallsBackToText() throws IOException {
+        Path log = tempDir.resolve("app.log");
+        Files.writeString(log, INFO + ERROR);
+        assertNull(LogRecords.scan(log, DATE, null, null, null, Files.size(log)));
+
+        try (LogRecordWriter writer = LogRecordWriter.open(log)) {
+            writer.append(millis(10, 1), INFO.length(), ERROR.length(), "ERROR", "c.e.App", "main");
+        }
+        assertNull(LogRecords.scan(log, DATE, null, null, null, Files.size(log)));
+    }
+
+    @Test
+    void scan_stopsAtTextNotYetOnDisk() throws IOException {
+        Path log = writeLog();
+        long textLength = INFO.length() + ERROR.length();
+
+        LogRecords.Scan scan = LogRecords.scan(log, DATE, null, null, null, textLength);
+
+        assertEquals(2, scan.events());
+        assertEquals(textLength, scan.coveredLength());
+    }
+
+    @Test
+    void writer_reopenContinuesDictionary() throws IOException {
+        Path log = writeLog();
+        try (LogRecordWriter writer = LogRecordWriter.open(log)) {
+            writer.append(millis(10, 6), Files.size(log), 10, "INFO", "c.e.Other", "main");
+        }
+
+        assertEquals(List.of("c.e.App", "main", "c.e.Other"),
+                     Files.readAllLines(LogRecords.dictionaryFile(log), StandardCharsets.UTF_8));
+        assertEquals(4L * LogRecords.RECORD_SIZE, Files.size(LogRecords.recordFile(log)));
+    }
+
+    @Test
+    void scan_window_readsOnlyTheRecordsAroundIt() throws IOException {
+        Path log = tempDir.resolve("app.log");
+        StringBuilder text = new StringBuilder();
+        try (LogRecordWriter writer = LogRecordWriter.open(log)) {
+            for (int minute = 0; minute < 600; minute++) {
+                String line = String.format("2025-04-15 %02d:%02d:00 INFO  [main] c.e.App - tick%n",
+                                            minute / 60, minute % 60);
+                writer.append(millis(minute / 60, minute % 60), text.length(), line.length(), "INFO", "c.e.App", "main");
+                text.append(line);
+            }
+        }
+        Files.writeString(log, text);
+        // Corrupt a record far before the window: a full scan would reject the records.
+        try (FileChannel channel = FileChannel.open(LogRecords.recordFile(log), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, 12345), 10L * LogRecords.RECORD_SIZE + 8);
+        }
+
+        LogRecords.Scan window = LogRecords.scan(log, DATE, LocalTime.of(5, 0), LocalTime.of(5, 2), null,
+                                                 Files.size(log));
+
+        assertEquals(2, window.events());
+        String selected = text.substring((int) window.ranges().get(0).start(), (int) window.ranges().get(0).end());
+        assertTrue(selected.startsWith("2025-04-15 05:00:00") && selected.contains("05:01:00"), selected);
+        assertEquals(Files.size(log), window.coveredLength());
+        assertNull(LogRecords.scan(log, DATE, null, null, null, Files.size(log)));
+    }
+
+    @Test
+    void appender_recordsEveryEventWithItsStackTrace() throws IOException {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Path log = null;
+        // Restarted once: the file then has a header and footer per run.
+        for (String message : List.of("started", "restarted")) {
+            RecordingRollingFileAppender appender = appender(context);
+            Logger logger = context.getLogger("records");
+            logger.addAppender(appender);
+            logger.info(message);
+            logger.error("failed", new IllegalStateException("boom"));
+            logger.info("recovered");
+            log = Path.of(appender.getFile());
+            appender.stop();
+            logger.detachAppender(appender);
+        }
+
+        long size = Files.size(log);
+        String text = Files.readString(log);
+        assertTrue(text.startsWith("# header"), text);
+        LogRecords.Scan all = LogRecords.scan(log, LocalDate.now(), null, null, null, size);
+        assertEquals(6, all.events());
+        assertEquals(size, all.coveredLength());
+        LogRecords.Scan errors = LogRecords.scan(log, LocalDate.now(), null, null, "ERROR", size);
+        assertEquals(2, errors.ranges().size());
+        String error = text.substring((int) errors.ranges().get(1).start(), (int) errors.ranges().get(1).end());
+        assertTrue(error.startsWith(LocalDate.now() + " ") && error.contains("ERROR ["), error);
+        assertTrue(error.contains("java.lang.IllegalStateException: boom"), error);
+        assertFalse(error.contains("recovered") || error.contains("# "), error);
+    }
+
+    private RecordingRollingFileAppender appender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+        PatternLayout layout = (PatternLayout) encoder.getLayout();
+        layout.setFileHeader("# header");
+        layout.setFileFooter("# footer");
+        RecordingRollingFileAppender appender = new RecordingRollingFileAppender();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        TimeBasedRollingPolicy<ILoggingEvent> policy = new TimeBasedRollingPolicy<>();
+        policy.setContext(context);
+        policy.setParent(appender);
+        policy.setFileNamePattern(tempDir.resolve("app-%d{yyyy-MM-dd}.log").toString());
+        policy.start();
+        appender.setRollingPolicy(policy);
+        appender.start();
+        return appender;
+    }
+
+    private Path writeLog() throws IOException {
+        Path log = tempDir.resolve("app.log");
+        Files.writeString(log, INFO + ERROR + LATER);
+        try (LogRecordWriter writer = LogRecordWriter.open(log)) {
+            writer.append(millis(10, 0), 0, INFO.length(), "INFO", "c.e.App", "main");
+            writer.append(millis(10, 1), INFO.length(), ERROR.length(), "ERROR", "c.e.App", "main");
+            writer.append(millis(10, 5), INFO.length() + ERROR.length(), LATER.length(), "INFO", "c.e.App", "main");
+        }
+        return log;
+    }
+
+    private static long millis(int hour, int minute) {
+        return DATE.atTime(hour, minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
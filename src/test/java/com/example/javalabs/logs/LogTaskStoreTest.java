@@ -0,0 +1,70 @@
+package com.example.javalabs.logs;
+
+import com.example.javalabs.models.LogTask;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTaskStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-04-15T10:00:00Z");
+
+    @Test
+    void sweep_removesExpiredFinishedTasksOnly() {
+        LogTaskStore store = new LogTaskStore(Duration.ofMinutes(10), 100, Long.MAX_VALUE);
+        LogTask expired = task("expired", "COMPLETED", NOW.minusSeconds(600), 0);
+        LogTask fresh = task("fresh", "FAILED", NOW.minusSeconds(60), 0);
+        LogTask running = task("running", "RUNNING", null, 0);
+        store.put(expired);
+        store.put(fresh);
+        store.put(running);
+
+        assertEquals(List.of(expired), store.sweep(NOW));
+        assertNull(store.get("expired"));
+        assertSame(fresh, store.get("fresh"));
+        assertSame(running, store.get("running"));
+    }
+
+    @Test
+    void sweep_dropsOldestFinishedBeyondMaxTasks() {
+        LogTaskStore store = new LogTaskStore(Duration.ofHours(1), 2, Long.MAX_VALUE);
+        store.put(task("running", "RUNNING", null, 0));
+        store.put(task("newer", "COMPLETED", NOW.minusSeconds(10), 0));
+        store.put(task("older", "COMPLETED", NOW.minusSeconds(20), 0));
+        assertTrue(store.isOverLimit());
+
+        List<LogTask> removed = store.sweep(NOW);
+
+        assertEquals(1, removed.size());
+        assertEquals("older", removed.get(0).getId());
+        assertFalse(store.isOverLimit());
+    }
+
+    @Test
+    void sweep_enforcesDiskQuota() {
+        LogTaskStore store = new LogTaskStore(Duration.ofHours(1), 100, 150);
+        store.put(task("first", "COMPLETED", NOW.minusSeconds(30), 100));
+        store.put(task("second", "COMPLETED", NOW.minusSeconds(20), 100));
+        store.put(task("shared", "COMPLETED", NOW.minusSeconds(10), 0));
+        assertEquals(200, store.ownedBytes());
+
+        List<LogTask> removed = store.sweep(NOW);
+
+        assertEquals(List.of("first"), removed.stream().map(LogTask::getId).toList());
+        assertEquals(100, store.ownedBytes());
+        assertEquals(2, store.size());
+    }
+
+    private static LogTask task(String id, String status, Instant finishedAt, long ownedBytes) {
+        LogTask task = new LogTask();
+        task.setId(id);
+        task.setStatus(status);
+        task.setFinishedAt(finishedAt);
+        task.setOwnedBytes(ownedBytes);
+        return task;
+    }
+}
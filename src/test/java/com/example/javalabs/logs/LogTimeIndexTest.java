@@ -0,0 +1,81 @@
+package com.example.javalabs.logs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTimeIndexTest {
+
+    private static final String LINE_1000 = "2025-04-15 10:00:00 INFO  [main] started\n";
+    private static final String LINE_1001 = "2025-04-15 10:01:00 ERROR [main] failed\n";
+    private static final String TRACE = "\tat com.example.Foo.bar(Foo.java:10)\n";
+    private static final String LINE_1005 = "2025-04-15 10:05:00 INFO  [main] recovered\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ranges_narrowByMinuteAndLevel() throws IOException {
+        Path log = tempDir.resolve("app.log");
+        Files.writeString(log, LINE_1000 + LINE_1001 + TRACE + LINE_1005);
+        LogTimeIndex index = new LogTimeIndex();
+        try (FileChannel channel = FileChannel.open(log)) {
+            assertTrue(index.update(channel));
+        }
+        long errorStart = LINE_1000.length();
+        long infoStart = errorStart + LINE_1001.length() + TRACE.length();
+
+        assertEquals(List.of(new LogTimeIndex.Range(errorStart, infoStart)),
+                     index.ranges(null, null, "error"));
+        assertEquals(List.of(new LogTimeIndex.Range(0, infoStart)),
+                     index.ranges(LocalTime.of(10, 0), LocalTime.of(10, 5), null));
+        assertEquals(List.of(), index.ranges(LocalTime.of(10, 2), LocalTime.of(10, 5), null));
+        assertEquals(List.of(new LogTimeIndex.Range(0, errorStart), new LogTimeIndex.Range(infoStart, Files.size(log))),
+                     index.ranges(null, null, "INFO"));
+    }
+
+    @Test
+    void update_indexesOnlyCompleteAppendedLines() throws IOException {
+        Path log = tempDir.resolve("app.log");
+        Files.writeString(log, LINE_1000 + "2025-04-15 10:01:00 ERR");
+        LogTimeIndex index = new LogTimeIndex();
+        try (FileChannel channel = FileChannel.open(log)) {
+            index.update(channel);
+        }
+        assertEquals(LINE_1000.length(), index.indexedLength());
+
+        Files.writeString(log, "OR [main] failed\n", StandardOpenOption.APPEND);
+        try (FileChannel channel = FileChannel.open(log)) {
+            assertTrue(index.update(channel));
+            assertFalse(index.update(channel));
+        }
+        assertEquals(LINE_1000.length() + LINE_1001.length(), index.indexedLength());
+        assertEquals(1, index.ranges(null, null, "ERROR").size());
+    }
+
+    @Test
+    void writeTo_readFrom_roundTrips() throws IOException {
+        Path log = tempDir.resolve("app.log");
+        Files.writeString(log, LINE_1000 + LINE_1001);
+        LogTimeIndex index = new LogTimeIndex();
+        try (FileChannel channel = FileChannel.open(log)) {
+            index.update(channel);
+        }
+        Path indexFile = LogIndexStore.indexFile(log);
+        index.writeTo(indexFile);
+
+        LogTimeIndex restored = LogTimeIndex.readFrom(indexFile);
+
+        assertEquals(index.indexedLength(), restored.indexedLength());
+        assertEquals(index.ranges(null, null, "ERROR"), restored.ranges(null, null, "ERROR"));
+    }
+}
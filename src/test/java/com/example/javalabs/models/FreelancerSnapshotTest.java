@@ -0,0 +1,56 @@
+package com.example.javalabs.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreelancerSnapshotTest {
+
+    @Test
+    void from_copiesScalarFieldsSkillsAndOrders() {
+        Freelancer freelancer = new Freelancer("Bob", "dev", 4.5, 30.0);
+        freelancer.setId(3L);
+        Skill skill = new Skill("Java");
+        skill.setId(7L);
+        freelancer.setSkills(new HashSet<>(Set.of(skill)));
+        freelancer.setOrders(new ArrayList<>(List.of(new Order("Landing page", 100.0))));
+
+        FreelancerSnapshot snapshot = FreelancerSnapshot.from(freelancer);
+
+        assertEquals(3L, snapshot.id());
+        assertEquals("Bob", snapshot.name());
+        assertEquals("dev", snapshot.category());
+        assertEquals(4.5, snapshot.rating());
+        assertEquals(30.0, snapshot.hourlyRate());
+        assertEquals(List.of(new FreelancerSnapshot.SkillSummary(7L, "Java")), snapshot.skills());
+        assertEquals(List.of(new FreelancerSnapshot.OrderSummary(null, "Landing page", 100.0)), snapshot.orders());
+    }
+
+    @Test
+    void from_isDetachedFromEntityCollections() {
+        Freelancer freelancer = new Freelancer("Bob", "dev", 4.5, 30.0);
+        freelancer.setSkills(new HashSet<>(Set.of(new Skill("Java"))));
+        freelancer.setOrders(new ArrayList<>(List.of(new Order("Landing page", 100.0))));
+
+        FreelancerSnapshot snapshot = FreelancerSnapshot.from(freelancer);
+        freelancer.getSkills().clear();
+        freelancer.getOrders().clear();
+
+        assertEquals(1, snapshot.skills().size());
+        assertEquals(1, snapshot.orders().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.skills().clear());
+    }
+
+    @Test
+    void from_nullCollections_returnsEmptyLists() {
+        FreelancerSnapshot snapshot = FreelancerSnapshot.from(new Freelancer());
+
+        assertTrue(snapshot.skills().isEmpty());
+        assertTrue(snapshot.orders().isEmpty());
+    }
+}
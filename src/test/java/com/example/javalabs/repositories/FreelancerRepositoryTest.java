@@ -0,0 +1,102 @@
+package com.example.javalabs.repositories;
+
+import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.FreelancerSnapshot;
+import com.example.javalabs.models.Order;
+import com.example.javalabs.models.Skill;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FreelancerRepositoryTest {
+
+    private static final int FREELANCERS = 25;
+
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Skill java = entityManager.persist(new Skill("Java"));
+        Skill python = entityManager.persist(new Skill("Python"));
+        for (int i = 0; i < FREELANCERS; i++) {
+            Freelancer freelancer = new Freelancer("Freelancer " + i, i % 5 == 0 ? "dev" : "design", 4.0, 25.0);
+            freelancer.setSkills(new HashSet<>(Set.of(java, python)));
+            List<Order> orders = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                Order order = new Order("Order " + j, 10.0 * (j + 1));
+                order.setFreelancer(freelancer);
+                orders.add(order);
+            }
+            freelancer.setOrders(orders);
+            entityManager.persist(freelancer);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByCategoryAndSkill_loadsSkillsAndOrdersInBoundedStatements() {
+        List<FreelancerSnapshot> snapshots = freelancerRepository.findByCategoryAndSkill("design", "Java")
+                .stream()
+                .map(FreelancerSnapshot::from)
+                .toList();
+
+        assertEquals(20, snapshots.size());
+        assertTrue(snapshots.stream().allMatch(s -> s.skills().size() == 2 && s.orders().size() == 3));
+        assertEquals(3, statistics.getPrepareStatementCount(),
+                "Expected one ID query, one freelancer+skills query and one orders query");
+    }
+
+    @Test
+    void findByCategoryAndSkill_noFilters_returnsEveryFreelancerOnceInIdOrder() {
+        List<Freelancer> freelancers = freelancerRepository.findByCategoryAndSkill(null, null);
+
+        assertEquals(FREELANCERS, freelancers.size());
+        for (int i = 1; i < freelancers.size(); i++) {
+            assertTrue(freelancers.get(i - 1).getId() < freelancers.get(i).getId());
+        }
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findIdsPage_walksAllMatchesInIdOrderWithoutOverlap() {
+        List<Long> expected = freelancerRepository.findIdsByCategoryAndSkill("design", null);
+        List<Long> collected = new ArrayList<>();
+        Long afterId = null;
+        List<Long> page;
+        do {
+            page = freelancerRepository.findIdsPage("design", null, afterId, PageRequest.of(0, 7));
+            collected.addAll(page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        assertEquals(expected, collected);
+    }
+}
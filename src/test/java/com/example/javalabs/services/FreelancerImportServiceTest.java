@@ -0,0 +1,162 @@
+package com.example.javalabs.services;
+
+import com.example.javalabs.models.BulkUpsertResult;
+import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.ImportTask;
+import com.example.javalabs.services.impl.FreelancerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FreelancerImportServiceTest {
+
+    private FreelancerService freelancerService;
+    private ExecutorService executor;
+    private FreelancerImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        freelancerService = mock(FreelancerService.class);
+        when(freelancerService.bulkUpsertFreelancers(anyList())).thenReturn(BulkUpsertResult.empty());
+        executor = Executors.newSingleThreadExecutor();
+        importService = new FreelancerImportService(freelancerService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), executor,
+                1, Duration.ofHours(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void importFreelancers_ndjson_persistsValidRecordsAndReportsRejected() throws Exception {
+        String body = """
+                {"name":"Alice","category":"design","rating":4.5,"hourlyRate":30}
+                {"name":"B","category":"design","rating":4.0,"hourlyRate":20}
+                {"name":"Carol","category":"dev","rating":"not a number","hourlyRate":25}
+                {"name":"Dave","category":"dev","rating":3.0,"hourlyRate":40}
+                """;
+
+        ImportTask task = awaitCompletion(importService.importFreelancers(stream(body),
+                                                                          FreelancerImportService.Format.NDJSON));
+
+        assertEquals("COMPLETED", task.getStatus());
+        assertEquals(4, task.getRecordsRead().get());
+        assertEquals(2, task.getRecordsPersisted().get());
+        assertEquals(2, task.getRecordsRejected().get());
+        assertEquals(2, task.getErrors().size());
+        assertTrue(task.getErrors().get(0).startsWith("Record 2: name"));
+        List<Freelancer> persisted = capturePersisted();
+        assertEquals(List.of("Alice", "Dave"), persisted.stream().map(Freelancer::getName).toList());
+    }
+
+    @Test
+    void importFreelancers_csv_mapsHeaderColumns() throws Exception {
+        String body = """
+                name,category,rating,hourlyRate
+                Alice,design,4.5,30
+                Bob,dev,,25
+                """;
+
+        ImportTask task = awaitCompletion(importService.importFreelancers(stream(body),
+                                                                          FreelancerImportService.Format.CSV));
+
+        assertEquals("COMPLETED", task.getStatus());
+        assertEquals(2, task.getRecordsPersisted().get());
+        List<Freelancer> persisted = capturePersisted();
+        assertEquals(4.5, persisted.get(0).getRating());
+        assertNull(persisted.get(1).getRating());
+        assertEquals(25.0, persisted.get(1).getHourlyRate());
+    }
+
+    @Test
+    void importFreelancers_persistFailure_marksTaskFailed() throws Exception {
+        when(freelancerService.bulkUpsertFreelancers(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        ImportTask task = awaitCompletion(importService.importFreelancers(
+                stream("{\"name\":\"Alice\",\"category\":\"design\",\"rating\":4.5,\"hourlyRate\":30}"),
+                FreelancerImportService.Format.NDJSON));
+
+        assertEquals("FAILED", task.getStatus());
+        assertTrue(task.getErrorMessage().contains("db down"));
+    }
+
+    @Test
+    void importFreelancers_allSlotsBusy_rejectsInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(freelancerService.bulkUpsertFreelancers(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return BulkUpsertResult.empty();
+        });
+        String record = "{\"name\":\"Alice\",\"category\":\"design\",\"rating\":4.5,\"hourlyRate\":30}";
+        ImportTask first = importService.importFreelancers(stream(record), FreelancerImportService.Format.NDJSON);
+
+        assertThrows(TaskRejectedException.class,
+                     () -> importService.importFreelancers(stream(record), FreelancerImportService.Format.NDJSON));
+
+        release.countDown();
+        assertEquals("COMPLETED", awaitFinished(first).getStatus());
+        ImportTask next = awaitFinished(importService.importFreelancers(stream(record),
+                                                                        FreelancerImportService.Format.NDJSON));
+        assertEquals("COMPLETED", next.getStatus());
+    }
+
+    @Test
+    void sweepTasks_keepsAtMostMaxTasksFinishedTasks() throws Exception {
+        String record = "{\"name\":\"Alice\",\"category\":\"design\",\"rating\":4.5,\"hourlyRate\":30}";
+        ImportTask oldest = null;
+        for (int i = 0; i < 3; i++) {
+            ImportTask task = awaitFinished(importService.importFreelancers(stream(record),
+                                                                            FreelancerImportService.Format.NDJSON));
+            oldest = oldest == null ? task : oldest;
+            Thread.sleep(5);
+        }
+
+        importService.sweepTasks();
+
+        assertEquals(2, importService.getTaskCount());
+        assertNull(importService.getTaskStatus(oldest.getId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Freelancer> capturePersisted() {
+        ArgumentCaptor<List<Freelancer>> captor = ArgumentCaptor.forClass(List.class);
+        verify(freelancerService, atLeastOnce()).bulkUpsertFreelancers(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private ImportTask awaitCompletion(ImportTask task) throws InterruptedException {
+        for (int i = 0; i < 500 && "RUNNING".equals(task.getStatus()); i++) {
+            Thread.sleep(10);
+        }
+        return task;
+    }
+
+    private ImportTask awaitFinished(ImportTask task) throws InterruptedException {
+        for (int i = 0; i < 500 && task.getFinishedAt() == null; i++) {
+            Thread.sleep(10);
+        }
+        return task;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
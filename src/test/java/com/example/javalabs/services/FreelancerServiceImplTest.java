@@ -0,0 +1,100 @@
+package com.example.javalabs.services;
+
+import com.example.javalabs.cache.FreelancerCache;
+import com.example.javalabs.cache.FreelancerIndex;
+import com.example.javalabs.cache.SkillDictionary;
+import com.example.javalabs.models.BulkUpsertResult;
+import com.example.javalabs.models.Freelancer;
+import com.example.javalabs.models.Skill;
+import com.example.javalabs.repositories.FreelancerJdbcRepository;
+import com.example.javalabs.repositories.FreelancerRepository;
+import com.example.javalabs.repositories.OrderRepository;
+import com.example.javalabs.repositories.SkillRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+class FreelancerServiceImplTest {
+
+    private FreelancerJdbcRepository freelancerJdbcRepository;
+    private SkillDictionary skillDictionary;
+    private FreelancerIndex freelancerIndex;
+    private FreelancerServiceImpl freelancerService;
+
+    @BeforeEach
+    void setUp() {
+        freelancerJdbcRepository = mock(FreelancerJdbcRepository.class);
+        skillDictionary = mock(SkillDictionary.class);
+        freelancerIndex = mock(FreelancerIndex.class);
+        when(freelancerJdbcRepository.findExistingIds(anyCollection())).thenReturn(Set.of());
+        when(freelancerJdbcRepository.findIdsByNaturalKeys(anyCollection())).thenReturn(Map.of());
+        when(freelancerJdbcRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(0);
+            return LongStream.rangeClosed(101, 100 + rows.size()).boxed().toList();
+        });
+        when(skillDictionary.resolveAll(anySet())).thenReturn(Map.of("Java", 7L, "SQL", 8L));
+        freelancerService = new FreelancerServiceImpl(mock(FreelancerRepository.class), freelancerJdbcRepository,
+                                                      mock(OrderRepository.class), mock(SkillRepository.class),
+                                                      new FreelancerCache(), skillDictionary, freelancerIndex,
+                                                      mock(PlatformTransactionManager.class),
+                                                      mock(EntityManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpsert_repeatedNewKey_insertsOnceAndLinksSkillsToTheInsertedRow() {
+        Freelancer first = freelancer("Alice", "design", "Java");
+        Freelancer second = freelancer("Alice", "design", "SQL");
+
+        BulkUpsertResult result = freelancerService.bulkUpsertFreelancers(new ArrayList<>(List.of(first, second)));
+
+        assertEquals(1, result.inserted());
+        ArgumentCaptor<List<Freelancer>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(freelancerJdbcRepository).batchInsert(inserted.capture());
+        assertEquals(List.of(second), inserted.getValue());
+        assertEquals(101L, first.getId());
+        ArgumentCaptor<List<FreelancerJdbcRepository.SkillLink>> links = ArgumentCaptor.forClass(List.class);
+        verify(freelancerJdbcRepository).batchInsertSkillLinks(links.capture());
+        assertEquals(Set.of(new FreelancerJdbcRepository.SkillLink(101L, 7L),
+                            new FreelancerJdbcRepository.SkillLink(101L, 8L)),
+                     Set.copyOf(links.getValue()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpsert_repeatedKeys_indexesEachPersistedRowOnce() {
+        Freelancer first = freelancer("Alice", "design", "Java");
+        Freelancer second = freelancer("Alice", "design", "SQL");
+        Freelancer other = freelancer("Bob", "dev", "Java");
+
+        freelancerService.bulkUpsertFreelancers(new ArrayList<>(List.of(first, second, other)));
+
+        ArgumentCaptor<Collection<FreelancerIndex.Document>> documents = ArgumentCaptor.forClass(Collection.class);
+        verify(freelancerIndex).merge(documents.capture());
+        assertEquals(List.of(new FreelancerIndex.Document(101L, "design", Set.of("Java", "SQL")),
+                             new FreelancerIndex.Document(102L, "dev", Set.of("Java"))),
+                     List.copyOf(documents.getValue()));
+    }
+
+    private static Freelancer freelancer(String name, String category, String skill) {
+        Freelancer freelancer = new Freelancer(name, category, 4.0, 30.0);
+        freelancer.setSkills(Set.of(new Skill(skill)));
+        return freelancer;
+    }
+}
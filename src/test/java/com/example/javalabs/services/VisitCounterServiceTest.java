@@ -0,0 +1,162 @@
+package com.example.javalabs.services;
+
+import com.example.javalabs.counters.HeavyHitters;
+import com.example.javalabs.models.VisitRates;
+import com.example.javalabs.repositories.VisitCounterJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class VisitCounterServiceTest {
+
+    private final VisitCounterJdbcRepository repository = mock(VisitCounterJdbcRepository.class);
+
+    @Test
+    void countsPerRoute() {
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        service.incrementVisit("/api/freelancers/{id}");
+        service.incrementVisit("/api/freelancers/{id}");
+        service.incrementVisit("/api/freelancers");
+
+        assertEquals(2, service.getVisitCount("/api/freelancers/{id}"));
+        assertEquals(1, service.getVisitCount("/api/freelancers"));
+        assertEquals(0, service.getVisitCount("/api/freelancers/1"));
+        assertEquals(Map.of("/api/freelancers/{id}", 2L, "/api/freelancers", 1L), service.getAllCounters());
+    }
+
+    @Test
+    void routesBeyondTheLimitAreCountedAsOther() {
+        VisitCounterService service = new VisitCounterService(repository, 2, 10);
+        service.incrementVisit("/a");
+        service.incrementVisit("/b");
+        service.incrementVisit("/c");
+        service.incrementVisit("/d");
+        service.incrementVisit(null);
+        service.incrementVisit("/a");
+
+        Map<String, Long> counts = service.getAllCounters();
+        assertEquals(3, counts.size());
+        assertEquals(2L, counts.get("/a"));
+        assertEquals(1L, counts.get("/b"));
+        assertEquals(3L, counts.get(VisitCounterService.OTHER));
+        assertEquals(3, service.getVisitCount(VisitCounterService.OTHER));
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws InterruptedException {
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    service.incrementVisit("/api/freelancers/{id}");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, service.getVisitCount("/api/freelancers/{id}"));
+    }
+
+    @Test
+    void reportsRatesAndHotUris() {
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        for (int i = 0; i < 60; i++) {
+            service.incrementVisit("/api/freelancers/{id}");
+        }
+        service.recordUri("/api/freelancers/7");
+        service.recordUri("/api/freelancers/7");
+        service.recordUri("/api/freelancers/8");
+
+        VisitRates rates = service.getAllRates().get("/api/freelancers/{id}");
+        assertEquals(60, rates.total());
+        assertEquals(1.0, rates.oneMinuteRate(), 1e-9);
+        assertEquals(60.0 / 900, rates.fifteenMinuteRate(), 1e-9);
+        assertEquals(List.of(new HeavyHitters.Entry("/api/freelancers/7", 2)), service.getHotUris(1));
+    }
+
+    @Test
+    void flushWritesOnlyNewVisits() {
+        VisitCounterService service = new VisitCounterService(repository, 1, 10);
+        service.restore();
+        service.incrementVisit("/api/freelancers/{id}");
+        service.incrementVisit("/api/freelancers/{id}");
+        service.incrementVisit("/api/freelancers");
+        service.flush();
+        verify(repository).addVisits(Map.of("/api/freelancers/{id}", 2L, VisitCounterService.OTHER, 1L));
+
+        service.flush();
+        service.incrementVisit("/api/freelancers/{id}");
+        service.flush();
+
+        verify(repository).addVisits(Map.of("/api/freelancers/{id}", 1L));
+        verify(repository).findAll();
+        verifyNoMoreInteractions(repository);
+        assertEquals(2, service.getFlushCount());
+    }
+
+    @Test
+    void failedFlushIsRetriedWithTheNextOne() {
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        doThrow(new IllegalStateException("database down")).doNothing().when(repository).addVisits(anyMap());
+        service.restore();
+        service.incrementVisit("/api/freelancers");
+        service.flush();
+        service.incrementVisit("/api/freelancers");
+        service.flush();
+
+        verify(repository).addVisits(Map.of("/api/freelancers", 1L));
+        verify(repository).addVisits(Map.of("/api/freelancers", 2L));
+        assertEquals(1, service.getFlushFailures());
+        assertEquals(1, service.getFlushCount());
+    }
+
+    @Test
+    void restoreAddsStoredTotalsWithoutWritingThemAgain() {
+        when(repository.findAll()).thenReturn(Map.of("/api/freelancers/{id}", 40L, VisitCounterService.OTHER, 5L));
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        service.incrementVisit("/api/freelancers/{id}");
+        service.restore();
+
+        assertEquals(41, service.getVisitCount("/api/freelancers/{id}"));
+        assertEquals(5, service.getVisitCount(VisitCounterService.OTHER));
+        service.flush();
+        verify(repository).addVisits(Map.of("/api/freelancers/{id}", 1L));
+    }
+
+    @Test
+    void flushWaitsForRestore() {
+        when(repository.findAll()).thenReturn(Map.of("/api/freelancers", 10L));
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        service.incrementVisit("/api/freelancers");
+        service.flush();
+        verify(repository, never()).addVisits(anyMap());
+
+        service.restore();
+        service.flush();
+
+        assertEquals(11, service.getVisitCount("/api/freelancers"));
+        verify(repository).addVisits(Map.of("/api/freelancers", 1L));
+    }
+
+    @Test
+    void failedRestoreCountsFromZeroAndStillFlushes() {
+        when(repository.findAll()).thenThrow(new IllegalStateException("database down"));
+        VisitCounterService service = new VisitCounterService(repository, 10, 10);
+        service.restore();
+        service.incrementVisit("/api/freelancers");
+        service.flush();
+
+        assertEquals(1, service.getVisitCount("/api/freelancers"));
+        verify(repository).addVisits(Map.of("/api/freelancers", 1L));
+    }
+}
@@ -1,19 +1,28 @@
 package com.example.javalabs.services.impl;
 
+import com.example.javalabs.exceptions.NotFoundException;
 import com.example.javalabs.exceptions.ValidationException;
+import com.example.javalabs.logs.LogLineWriter;
+import com.example.javalabs.logs.LogQuery;
+import com.example.javalabs.logs.LogRecordWriter;
 import com.example.javalabs.services.LogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,6 +62,47 @@ class LogServiceTest {
         assertFalse(resultLines.contains("2025-04-15 10:01:00 ERROR Failed operation"));
     }
 
+    @Test
+    void getLogs_withRecords_includesStackTraceOfMatchingEvent() throws IOException {
+        String date = "2025-04-15";
+        Path logFile = logDir.resolve("app-" + date + ".log");
+        String info = "2025-04-15 10:00:00 INFO  [main] c.e.App - started\n";
+        String error = "2025-04-15 10:01:00 ERROR [main] c.e.App - failed\n\tat com.example.App.run(App.java:10)\n";
+        Files.writeString(logFile, info + error);
+        try (LogRecordWriter writer = LogRecordWriter.open(logFile)) {
+            writer.append(0, 0, info.length(), "INFO", "c.e.App", "main");
+            writer.append(0, info.length(), error.length(), "ERROR", "c.e.App", "main");
+        }
+
+        Path result = logService.getLogs(date, "ERROR");
+
+        assertEquals(error, Files.readString(result));
+    }
+
+    @Test
+    void getLogs_dateRange_mergesPlainAndArchivedDaysInOrder() throws IOException {
+        Files.write(logDir.resolve("app-2025-04-16.log"), List.of("2025-04-16 09:00:00 ERROR Second day"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(logDir.resolve("app-2025-04-14.log.gz")))) {
+            out.write(("2025-04-14 09:00:00 ERROR First day\n2025-04-14 09:01:00 INFO  Skipped\n")
+                              .getBytes(StandardCharsets.UTF_8));
+        }
+
+        Path result = logService.getLogs(LogQuery.parse(null, "2025-04-14", "2025-04-16", "ERROR", null, null));
+
+        assertEquals(List.of("2025-04-14 09:00:00 ERROR First day", "2025-04-16 09:00:00 ERROR Second day"),
+                     Files.readAllLines(result));
+    }
+
+    @Test
+    void parse_dateRange_rejectsMixedOrReversedDates() {
+        assertThrows(ValidationException.class,
+                     () -> LogQuery.parse("2025-04-14", "2025-04-14", null, null, null, null));
+        assertThrows(ValidationException.class,
+                     () -> LogQuery.parse(null, "2025-04-16", "2025-04-14", null, null, null));
+        assertThrows(ValidationException.class,
+                     () -> LogQuery.parse(null, "2025-01-01", "2025-04-14", null, null, null));
+    }
+
     @Test
     void getLogs_noDate_returnsTodayLogs() throws IOException {
         String date = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
@@ -70,6 +120,134 @@ class LogServiceTest {
         assertEquals("2025-04-15 10:00:00 INFO  App started", resultLines.get(0));
     }
 
+    @Test
+    void getLogs_timeWindow_returnsLinesInWindow() throws IOException {
+        String date = "2025-04-15";
+        Path logFile = logDir.resolve("app-" + date + ".log");
+        List<String> logLines = List.of(
+                "2025-04-15 09:59:59 INFO  Before window",
+                "2025-04-15 10:00:00 INFO  Window start",
+                "2025-04-15 10:09:59 ERROR Inside window",
+                "2025-04-15 10:10:00 INFO  Window end"
+        );
+        Files.write(logFile, logLines);
+
+        Path result = logService.getLogs(date, null, "10:00", "10:10");
+
+        assertEquals(List.of("2025-04-15 10:00:00 INFO  Window start", "2025-04-15 10:09:59 ERROR Inside window"),
+                     Files.readAllLines(result));
+        assertEquals(List.of("2025-04-15 10:09:59 ERROR Inside window"),
+                     Files.readAllLines(logService.getLogs(date, "ERROR", "10:00", null)));
+    }
+
+    @Test
+    void getLogs_invalidTimeWindow_throwsValidationException() {
+        assertThrows(ValidationException.class, () -> logService.getLogs("2025-04-15", null, "10:10", "10:00"));
+        assertThrows(ValidationException.class, () -> logService.getLogs("2025-04-15", null, "ten", null));
+    }
+
+    @Test
+    void createLogFile_completesWithoutDelay() throws Exception {
+        String date = "2025-04-15";
+        Files.write(logDir.resolve("app-" + date + ".log"), List.of("2025-04-15 10:00:00 INFO  App started"));
+
+        String taskId = logService.createLogFile(date, null, null, null);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"COMPLETED".equals(logService.getTaskStatus(taskId).getStatus())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("COMPLETED", logService.getTaskStatus(taskId).getStatus());
+        assertNotNull(logService.getLogFile(taskId));
+        assertFalse(logService.cancelTask(taskId), "Finished tasks cannot be cancelled");
+    }
+
+    @Test
+    void createLogFile_closedDay_servesRepeatFromCache() throws Exception {
+        String date = "2025-04-15";
+        Files.write(logDir.resolve("app-" + date + ".log"), List.of("2025-04-15 10:00:00 INFO  App started"));
+
+        String first = logService.createLogFile(date, "info", null, null);
+        awaitCompletion(first);
+        String second = logService.createLogFile(date, "INFO", null, null);
+
+        assertNotEquals(first, second);
+        assertEquals("COMPLETED", logService.getTaskStatus(second).getStatus());
+        assertEquals(logService.getLogFile(first), logService.getLogFile(second));
+    }
+
+    @Test
+    void createLogFile_changedSource_isExportedAgain() throws Exception {
+        String date = "2025-04-15";
+        Path source = logDir.resolve("app-" + date + ".log");
+        Files.write(source, List.of("2025-04-15 10:00:00 INFO  App started"));
+        String first = logService.createLogFile(date, null, null, null);
+        awaitCompletion(first);
+
+        Files.write(source, List.of("2025-04-15 10:00:00 INFO  App started",
+                                    "2025-04-15 10:01:00 INFO  App still running"));
+        String second = logService.createLogFile(date, null, null, null);
+        awaitCompletion(second);
+
+        assertEquals(2, Files.readAllLines(logService.getLogFile(second)).size());
+    }
+
+    private void awaitCompletion(String taskId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"COMPLETED".equals(logService.getTaskStatus(taskId).getStatus())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("COMPLETED", logService.getTaskStatus(taskId).getStatus());
+    }
+
+    @Test
+    void streamLogs_stopsAtLimit() throws IOException {
+        String date = "2025-04-15";
+        Files.write(logDir.resolve("app-" + date + ".log"), List.of(
+                "2025-04-15 10:00:00 INFO  App started",
+                "2025-04-15 10:01:00 ERROR Failed operation",
+                "2025-04-15 10:02:00 INFO  Operation successful",
+                "2025-04-15 10:03:00 INFO  Operation repeated"));
+        LogQuery query = logService.checkStream(date, "INFO", null, null, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long lines = logService.streamLogs(query, new LogLineWriter(out, LogLineWriter.Format.TEXT, 2));
+
+        assertEquals(2, lines);
+        assertEquals("2025-04-15 10:00:00 INFO  App started\n2025-04-15 10:02:00 INFO  Operation successful\n",
+                     out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamLogs_ndjson_splitsFields() throws IOException {
+        String date = "2025-04-15";
+        Files.write(logDir.resolve("app-" + date + ".log"), List.of(
+                "2025-04-15 10:01:00 ERROR Failed \"operation\"",
+                "\tat com.example.Foo.bar(Foo.java:10)"));
+        LogQuery query = logService.checkStream(date, null, null, null, 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        logService.streamLogs(query, new LogLineWriter(out, LogLineWriter.Format.NDJSON, 10));
+
+        assertEquals("{\"timestamp\":\"2025-04-15 10:01:00\",\"level\":\"ERROR\",\"message\":\"Failed \\\"operation\\\"\"}\n"
+                     + "{\"message\":\"\\u0009at com.example.Foo.bar(Foo.java:10)\"}\n",
+                     out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void checkStream_missingFile_throwsNotFound() {
+        assertThrows(NotFoundException.class, () -> logService.checkStream("2025-04-16", null, null, null, 10));
+        assertThrows(ValidationException.class, () -> logService.checkStream("2025-04-15", null, null, null, 0));
+    }
+
+    @Test
+    void createLogFile_invalidDate_failsBeforeQueueing() {
+        assertThrows(ValidationException.class, () -> logService.createLogFile("invalid-date", null, null, null));
+        assertEquals(0, logService.countTasks("PENDING"));
+    }
+
     @Test
     void getLogs_invalidDate_throwsValidationException() {
         ValidationException exception = assertThrows(ValidationException.class,
@@ -110,28 +288,18 @@ class LogServiceTest {
     }
 
     @Test
-    void extractLogLevel_validLine_returnsLevel() {
-        String line = "2025-04-15 10:00:00 INFO  App started";
-        try {
-            Method method = LogService.class.getDeclaredMethod("extractLogLevel", String.class);
-            method.setAccessible(true);
-            String level = (String) method.invoke(logService, line);
-            assertEquals("INFO", level);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            fail("Failed to invoke extractLogLevel: " + e.getMessage());
-        }
-    }
+    void deleteOrphanedExports_removesOnlyExportsOlderThanTheTtl() throws IOException {
+        Path exports = Files.createDirectories(logDir.resolve("exports"));
+        Path orphan = Files.writeString(exports.resolve("logs-2025-04-15123.log"), "old");
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path recent = Files.writeString(exports.resolve("logs-2025-04-15456.part"), "new");
+        Path other = Files.writeString(exports.resolve("notes.txt"), "keep");
+        Files.setLastModifiedTime(other, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
 
-    @Test
-    void extractLogLevel_invalidLine_returnsEmpty() {
-        String line = "Short line";
-        try {
-            Method method = LogService.class.getDeclaredMethod("extractLogLevel", String.class);
-            method.setAccessible(true);
-            String level = (String) method.invoke(logService, line);
-            assertEquals("", level);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            fail("Failed to invoke extractLogLevel: " + e.getMessage());
-        }
+        logService.deleteOrphanedExports();
+
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(other));
     }
-}
\ No newline at end of file
+}